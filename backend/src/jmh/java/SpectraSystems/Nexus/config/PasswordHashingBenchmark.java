@@ -0,0 +1,54 @@
+package SpectraSystems.Nexus.config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Logins per second on a single core for each BCrypt cost: one benchmark thread
+ * and one hashing thread, so the score reads directly as logins/sec/core.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 5)
+@Threads(1)
+@Fork(1)
+public class PasswordHashingBenchmark {
+
+    @Param({"10", "11", "12"})
+    int strength;
+
+    private BoundedPasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), 1, 1, 60_000);
+        hash = encoder.encode("password");
+    }
+
+    @TearDown
+    public void tearDown() {
+        encoder.shutdown();
+    }
+
+    @Benchmark
+    public boolean login() {
+        return encoder.matches("password", hash);
+    }
+}
@@ -0,0 +1,102 @@
+package SpectraSystems.Nexus.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Requests per second when each request blocks on a provider call of latencyMs:
+ * Tomcat's default pool of 200 platform threads against one virtual thread per
+ * request, and virtual threads that block inside synchronized code (pinned).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(1)
+@Fork(1)
+public class VirtualThreadBenchmark {
+
+    static final int REQUESTS = 2_000;
+    static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"5", "50"})
+    long latencyMs;
+
+    private ExecutorService platformPool;
+    private ExecutorService virtualThreads;
+
+    @Setup
+    public void setUp() {
+        platformPool = Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        virtualThreads = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @TearDown
+    public void tearDown() {
+        platformPool.shutdownNow();
+        virtualThreads.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public void platformThreadPool(Blackhole blackhole) throws Exception {
+        run(platformPool, false, blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public void virtualThreadPerRequest(Blackhole blackhole) throws Exception {
+        run(virtualThreads, false, blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public void virtualThreadPinned(Blackhole blackhole) throws Exception {
+        run(virtualThreads, true, blackhole);
+    }
+
+    private void run(ExecutorService executor, boolean pinned, Blackhole blackhole) throws Exception {
+        List<Future<Long>> responses = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            responses.add(executor.submit(() -> pinned ? pinnedRequest() : request()));
+        }
+        for (Future<Long> response : responses) {
+            blackhole.consume(response.get());
+        }
+    }
+
+    private long request() throws InterruptedException {
+        // simulated provider call
+        Thread.sleep(latencyMs);
+        return System.nanoTime();
+    }
+
+    private long pinnedRequest() throws InterruptedException {
+        // e.g. a driver that blocks inside synchronized code: the carrier cannot be released
+        Object monitor = new Object();
+        synchronized (monitor) {
+            return request();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package SpectraSystems.Nexus.controllers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import SpectraSystems.Nexus.models.externalFlight;
+
+/**
+ * Round-trip pairing in FlightController: every outbound flight scans the return
+ * list for its first match, so the cost grows with outbound x return flights.
+ * Half of the flights have a scale; only the last return flight matches the direct ones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoundTripPairingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int flights;
+
+    private List<externalFlight> outbound;
+    private List<externalFlight> returns;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        outbound = new ArrayList<>(flights);
+        returns = new ArrayList<>(flights);
+        for (int i = 0; i < flights; i++) {
+            externalFlight out = flight(1L, 2L);
+            if (i % 2 == 1) {
+                out.setScale(flight(3L, 2L));
+            }
+            outbound.add(out);
+            // return flights leaving from elsewhere, except the last one
+            returns.add(i == flights - 1 ? flight(2L, 1L) : flight(10L + i, 1L));
+        }
+    }
+
+    private static externalFlight flight(Long origin, Long destination) {
+        externalFlight flight = new externalFlight();
+        flight.setOriginCityId(origin);
+        flight.setDestinationCityId(destination);
+        return flight;
+    }
+
+    @Benchmark
+    public List<externalFlight> pairReturnFlights() {
+        FlightController.pairReturnFlights(outbound, returns);
+        return outbound;
+    }
+}
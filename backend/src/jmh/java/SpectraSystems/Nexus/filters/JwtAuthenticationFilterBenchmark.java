@@ -0,0 +1,106 @@
+package SpectraSystems.Nexus.filters;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import SpectraSystems.Nexus.models.Role;
+import SpectraSystems.Nexus.models.User;
+import SpectraSystems.Nexus.repositories.UserRepository;
+import SpectraSystems.Nexus.services.CredentialVersionRegistry;
+import SpectraSystems.Nexus.services.JwtService;
+import SpectraSystems.Nexus.services.UserService;
+import jakarta.servlet.FilterChain;
+
+/**
+ * Whole JwtAuthenticationFilter pass for an authenticated request: the default path,
+ * which loads the user (here from an in-memory repository, so only the CPU side is
+ * measured), against the stateless path built from the token claims.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    static final String SECRET = "6e962faee468e21a97ce085a05c9ef4c3a785a8cda69d880598ae9c8f3cef984";
+
+    private static final FilterChain CHAIN = (req, res) -> { };
+
+    private JwtAuthenticationFilter databaseFilter;
+    private JwtAuthenticationFilter statelessFilter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        User user = User.builder()
+                .id(7L).email("bench@nexus.com").password("x").role(Role.ROLE_USER).credentialVersion(0L).build();
+        UserRepository userRepository = (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(),
+                new Class<?>[] { UserRepository.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findByEmail" -> Optional.of(user);
+                    case "findCredentialVersionById" -> Optional.of(0L);
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        UserService userService = new UserService(userRepository, new BCryptPasswordEncoder());
+
+        JwtService databaseJwt = jwtService(false);
+        databaseFilter = new JwtAuthenticationFilter(databaseJwt, userService);
+
+        JwtService statelessJwt = jwtService(true);
+        CredentialVersionRegistry registry = new CredentialVersionRegistry(userRepository);
+        statelessFilter = new JwtAuthenticationFilter(statelessJwt, userService);
+        ReflectionTestUtils.setField(statelessFilter, "credentialVersionRegistry", registry);
+
+        request = new MockHttpServletRequest("GET", "/nexus/flights/user/7");
+        request.addHeader("Authorization", "Bearer " + statelessJwt.generateToken(user));
+        response = new MockHttpServletResponse();
+    }
+
+    private static JwtService jwtService(boolean stateless) {
+        JwtService jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "jwtSecretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpirationMs", 28_800_000L);
+        ReflectionTestUtils.setField(jwtService, "statelessEnabled", stateless);
+        return jwtService;
+    }
+
+    @Benchmark
+    public Object databasePath() throws Exception {
+        return run(databaseFilter);
+    }
+
+    @Benchmark
+    public Object statelessPath() throws Exception {
+        return run(statelessFilter);
+    }
+
+    private Object run(JwtAuthenticationFilter filter) throws Exception {
+        try {
+            filter.doFilter(request, response, CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package SpectraSystems.Nexus.models;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Jackson cost of a search response: externalFlight lists where every flight has a
+ * scale, a paired return flight and a few commentaries, as sent by the round-trip search.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExternalFlightJsonBenchmark {
+
+    @Param({"20", "200"})
+    int flights;
+
+    private List<externalFlight> graph;
+    private byte[] json;
+    private ObjectWriter writer;
+    private ObjectReader reader;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        writer = mapper.writerFor(new TypeReference<List<externalFlight>>() { });
+        reader = mapper.readerFor(new TypeReference<List<externalFlight>>() { });
+        graph = new ArrayList<>(flights);
+        for (int i = 0; i < flights; i++) {
+            externalFlight outbound = flight(i, 1L, 2L);
+            outbound.setScale(flight(i + 10_000, 3L, 2L));
+            outbound.setReturnFlight(flight(i + 20_000, 2L, 1L));
+            List<Comment> commentaries = new ArrayList<>();
+            for (int c = 0; c < 3; c++) {
+                Comment comment = new Comment();
+                comment.setId((long) c);
+                comment.setFlightId((long) i);
+                comment.setUserId(3L);
+                comment.setUserName("bench");
+                comment.setContent("Comment " + c + " on flight " + i);
+                comment.setCreationDate(new Date(1_740_000_000_000L));
+                commentaries.add(comment);
+            }
+            outbound.setCommentaries(commentaries);
+            graph.add(outbound);
+        }
+        json = writer.writeValueAsBytes(graph);
+    }
+
+    private static externalFlight flight(long id, Long origin, Long destination) {
+        externalFlight flight = new externalFlight();
+        flight.setFlightId(id);
+        flight.setOriginCityId(origin);
+        flight.setOriginCityName("Origin " + origin);
+        flight.setDestinationCityId(destination);
+        flight.setDestinationCityName("Destination " + destination);
+        flight.setProviderId(1L);
+        flight.setDepartureDate(new Date(1_750_000_000_000L + id * 60_000));
+        flight.setArrivalDate(new Date(1_750_000_000_000L + id * 60_000 + 7_200_000));
+        flight.setTouristPrice(199.99);
+        flight.setBusinessPrice(899.5);
+        flight.setDetail("Nonstop service with meal");
+        flight.setTouristCapacity(150);
+        flight.setBusinessCapacity(20);
+        return flight;
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return writer.writeValueAsBytes(graph);
+    }
+
+    @Benchmark
+    public List<externalFlight> deserialize() throws Exception {
+        return reader.readValue(json);
+    }
+}
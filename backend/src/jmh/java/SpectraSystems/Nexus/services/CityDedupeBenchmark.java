@@ -0,0 +1,79 @@
+package SpectraSystems.Nexus.services;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import SpectraSystems.Nexus.models.City;
+
+/**
+ * City merge of FlightService.getAllCitiesFromOtherBackend: the per-provider loop
+ * (currently commented out there) dedupes with List.contains, quadratic in the number
+ * of cities, against an insertion-ordered set giving the same result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CityDedupeBenchmark {
+
+    @Param({"3"})
+    int providers;
+
+    @Param({"50", "500"})
+    int citiesPerProvider;
+
+    private List<List<City>> providerCities;
+
+    @Setup
+    public void setUp() {
+        providerCities = new ArrayList<>();
+        for (int p = 0; p < providers; p++) {
+            List<City> cities = new ArrayList<>(citiesPerProvider);
+            for (int c = 0; c < citiesPerProvider; c++) {
+                // providers share most of their cities
+                int id = c + p * (citiesPerProvider / 5);
+                cities.add(new City(Integer.toString(id), "City " + id));
+            }
+            providerCities.add(cities);
+        }
+    }
+
+    @Benchmark
+    public List<City> listContains() {
+        List<City> allCities = new ArrayList<>();
+        for (List<City> cities : providerCities) {
+            for (City city : cities) {
+                if (!allCities.contains(city)) {
+                    allCities.add(city);
+                }
+            }
+        }
+        return allCities;
+    }
+
+    @Benchmark
+    public List<City> linkedHashSet() {
+        Set<City> allCities = new LinkedHashSet<>();
+        for (List<City> cities : providerCities) {
+            allCities.addAll(cities);
+        }
+        return new ArrayList<>(allCities);
+    }
+}
@@ -0,0 +1,94 @@
+package SpectraSystems.Nexus.services;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import SpectraSystems.Nexus.models.Role;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Per-request CPU of JWT verification: the previous path (key decode, parser build
+ * and signature check three times per request) against the cached single-parse path,
+ * plus token generation as done on every login.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    static final String SECRET = "6e962faee468e21a97ce085a05c9ef4c3a785a8cda69d880598ae9c8f3cef984";
+
+    private JwtService jwtService;
+    private JwtParser prebuiltParser;
+    private UserDetails user;
+    private SpectraSystems.Nexus.models.User domainUser;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        jwtService.jwtSecretKey = SECRET;
+        jwtService.jwtExpirationMs = 28_800_000L;
+        user = User.withUsername("bench@nexus.com").password("x").roles("USER").build();
+        token = jwtService.generateToken(user);
+        domainUser = SpectraSystems.Nexus.models.User.builder()
+                .id(7L).email("bench@nexus.com").role(Role.ROLE_USER).credentialVersion(0L).build();
+        prebuiltParser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .build();
+    }
+
+    @Benchmark
+    public boolean legacyPerRequest() {
+        // extractUserName + isTokenValid (subject and expiration) as the filter used to run them
+        String userName = legacyClaims(token).getSubject();
+        return userName != null
+                && legacyClaims(token).getSubject().equals(user.getUsername())
+                && !legacyClaims(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public Claims prebuiltParserSingleVerify() {
+        return prebuiltParser.parseClaimsJws(token).getBody();
+    }
+
+    @Benchmark
+    public boolean cachedPerRequest() {
+        return jwtService.extractUserName(token) != null && jwtService.isTokenValid(token, user);
+    }
+
+    @Benchmark
+    public String generateForLogin() {
+        // with the uid/role/ver claims the stateless mode relies on
+        return jwtService.generateToken(domainUser);
+    }
+
+    private static Claims legacyClaims(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
@@ -0,0 +1,79 @@
+package SpectraSystems.Nexus.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Response times and status codes of one worker; not thread-safe, each worker owns one
+ * and they are merged once the run is over.
+ */
+public class LatencyRecorder {
+
+    private long[] samples = new long[4096];
+    private int size;
+    private long failures;
+    private final Map<Integer, Long> statuses = new TreeMap<>();
+
+
+    /**
+     * @param nanos
+     * @param status
+     */
+    public void record(long nanos, int status) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = nanos;
+        statuses.merge(status, 1L, Long::sum);
+    }
+
+    /**
+     * Connection errors and timeouts: no status, no latency sample.
+     */
+    public void recordFailure() {
+        failures++;
+    }
+
+
+    /**
+     * @param other
+     */
+    public void addAll(LatencyRecorder other) {
+        if (size + other.size > samples.length) {
+            samples = Arrays.copyOf(samples, Math.max(samples.length * 2, size + other.size));
+        }
+        System.arraycopy(other.samples, 0, samples, size, other.size);
+        size += other.size;
+        failures += other.failures;
+        other.statuses.forEach((status, count) -> statuses.merge(status, count, Long::sum));
+    }
+
+
+    /**
+     * @param workload
+     * @param seconds measured duration
+     * @return 'Summary'
+     */
+    public Summary summarize(String workload, double seconds) {
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        return new Summary(workload, size, seconds > 0 ? size / seconds : 0,
+                percentileMs(sorted, 0.50), percentileMs(sorted, 0.99),
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6,
+                new TreeMap<>(statuses), failures);
+    }
+
+    private static double percentileMs(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        // nearest rank
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1e6;
+    }
+
+    public record Summary(String workload, long requests, double throughput, double p50Ms, double p99Ms,
+                          double maxMs, Map<Integer, Long> statuses, long failures) {
+    }
+}
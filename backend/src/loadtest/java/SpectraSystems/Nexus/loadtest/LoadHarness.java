@@ -0,0 +1,348 @@
+package SpectraSystems.Nexus.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import SpectraSystems.Nexus.NexusApplication;
+import SpectraSystems.Nexus.dto.SignInRequest;
+import SpectraSystems.Nexus.dto.SignUpRequest;
+import SpectraSystems.Nexus.loadtest.LatencyRecorder.Summary;
+import SpectraSystems.Nexus.models.Flight;
+import SpectraSystems.Nexus.models.FlightPurchaseRequest;
+import SpectraSystems.Nexus.models.Provider;
+import SpectraSystems.Nexus.models.Type;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Offline load run: starts the stub provider, boots the backend on an in-memory H2
+ * database, registers the stub as airline and hotel provider, then drives closed-loop
+ * booking and cancellation workers against it and reports throughput and p50/p99 per
+ * workload. Settings are loadtest.* system properties, see ./gradlew loadTest.
+ * <p>
+ * There is no search workload: the flight and hotel searches do not call providers yet
+ * (the calls are commented out), so they would only time empty results. The stub call
+ * counts in the report show whether a run reached a provider at all.
+ */
+@Slf4j
+public class LoadHarness {
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final String baseUrl;
+    private final Duration requestTimeout = Duration.ofMillis(setting("request-timeout-ms", 30_000));
+    // Flights booked and not cancelled yet, consumed by the cancellation workers
+    private final ConcurrentLinkedQueue<Long> booked = new ConcurrentLinkedQueue<>();
+    private final List<Session> sessions = new ArrayList<>();
+    private Long airlineProviderId;
+
+    LoadHarness(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+
+    /**
+     * @param args
+     * @throws Exception
+     */
+    public static void main(String[] args) throws Exception {
+        StubProviderServer stub = new StubProviderServer(
+                setting("stub.latency-median-ms", 80),
+                setting("stub.latency-p99-ms", 600),
+                Double.parseDouble(System.getProperty("loadtest.stub.error-rate", "0.01")),
+                (int) setting("stub.flights-per-search", 20),
+                (int) setting("stub.hotels-per-search", 30),
+                setting("seed", 42));
+        stub.start((int) setting("stub.port", 0));
+        ConfigurableApplicationContext context = null;
+        try {
+            context = new SpringApplicationBuilder(NexusApplication.class, LoadTestMailConfig.class)
+                    .run(backendArguments());
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String contextPath = context.getEnvironment().getProperty("server.servlet.context-path", "");
+            LoadHarness harness = new LoadHarness("http://127.0.0.1:" + port + contextPath);
+            harness.prepare(stub.getBaseUrl(), (int) setting("users", 20));
+
+            Duration warmup = Duration.ofSeconds(setting("warmup-seconds", 10));
+            Duration duration = Duration.ofSeconds(setting("duration-seconds", 60));
+            List<Summary> summaries = harness.run(warmup, duration, Map.of(
+                    "booking", (int) setting("booking.workers", 4),
+                    "cancellation", (int) setting("cancellation.workers", 2)));
+            harness.report(summaries, stub.getCalls(), duration);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+            stub.stop();
+        }
+    }
+
+    private static String[] backendArguments() {
+        // command-line arguments, so they take precedence over application.properties
+        List<String> arguments = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.profiles.active=loadtest",
+                "--spring.datasource.url=jdbc:h2:mem:nexus_load;DB_CLOSE_DELAY=-1;MODE=Oracle;DATABASE_TO_LOWER=TRUE",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.naming.physical-strategy=org.hibernate.boot.model.naming.PhysicalNamingStrategyStandardImpl",
+                "--logging.level.org.springframework.security=WARN",
+                // a single client IP would otherwise drain one bucket; opt back in with -Ploadtest.rate-limit=true
+                "--nexus.ratelimit.enabled=" + System.getProperty("loadtest.rate-limit", "false")));
+        if (System.getProperty("loadtest.virtual-threads") != null) {
+            arguments.add("--spring.threads.virtual.enabled=" + System.getProperty("loadtest.virtual-threads"));
+        }
+        return arguments.toArray(String[]::new);
+    }
+
+
+    /**
+     * Registers the stub providers and signs up the users the booking workers act as.
+     *
+     * @param stubUrl
+     * @param users
+     * @throws Exception
+     */
+    void prepare(String stubUrl, int users) throws Exception {
+        String adminToken = post("/auth/login", null,
+                SignInRequest.builder().email("admin@admin.com").password("password").build())
+                .get("token").asText();
+        airlineProviderId = post("/providers", adminToken,
+                new Provider("Stub airline", stubUrl, 0.1, Type.AEROLINEA, 0.0, 0.05)).get("id").asLong();
+        post("/providers", adminToken, new Provider("Stub hotels", stubUrl, 0.0, Type.HOTEL, 0.1, 0.05));
+
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        for (int i = 0; i < users; i++) {
+            JsonNode response = post("/auth/signup", null, SignUpRequest.builder()
+                    .first_Name("Load")
+                    .last_Name("User " + i)
+                    .email("load-" + run + "-" + i + "@nexus.test")
+                    .password("password")
+                    .age(30)
+                    .country("CR")
+                    .passport("LT" + i)
+                    .build());
+            sessions.add(new Session(response.get("user").get("id").asLong(), response.get("token").asText()));
+        }
+        log.info("Registered providers and {} users", users);
+    }
+
+
+    /**
+     * @param warmup
+     * @param duration
+     * @param workers per workload
+     * @return 'List<Summary>' in workload order
+     * @throws InterruptedException
+     */
+    List<Summary> run(Duration warmup, Duration duration, Map<String, Integer> workers) throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        Map<String, List<LatencyRecorder>> recorders = new LinkedHashMap<>();
+        List<Thread> threads = new ArrayList<>();
+        for (String workload : List.of("booking", "cancellation")) {
+            List<LatencyRecorder> workloadRecorders = new ArrayList<>();
+            for (int i = 0; i < workers.getOrDefault(workload, 0); i++) {
+                LatencyRecorder recorder = new LatencyRecorder();
+                // warmup calls go to a recorder that is thrown away
+                LatencyRecorder warmupRecorder = new LatencyRecorder();
+                workloadRecorders.add(recorder);
+                threads.add(Thread.ofVirtual().name(workload + "-" + i).start(() -> {
+                    while (System.nanoTime() < end) {
+                        iteration(workload, System.nanoTime() < measureFrom ? warmupRecorder : recorder);
+                    }
+                }));
+            }
+            recorders.put(workload, workloadRecorders);
+        }
+        log.info("Running {} workers: {}s warmup, {}s measured", threads.size(), warmup.toSeconds(), duration.toSeconds());
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double seconds = duration.toNanos() / 1e9;
+        List<Summary> summaries = new ArrayList<>();
+        recorders.forEach((workload, list) -> {
+            LatencyRecorder merged = new LatencyRecorder();
+            list.forEach(merged::addAll);
+            summaries.add(merged.summarize(workload, seconds));
+        });
+        return summaries;
+    }
+
+    private void iteration(String workload, LatencyRecorder recorder) {
+        try {
+            switch (workload) {
+                case "booking" -> book(recorder);
+                case "cancellation" -> cancel(recorder);
+                default -> throw new IllegalArgumentException(workload);
+            }
+        } catch (IOException e) {
+            recorder.recordFailure();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void book(LatencyRecorder recorder) throws IOException, InterruptedException {
+        Session session = sessions.get(ThreadLocalRandom.current().nextInt(sessions.size()));
+        HttpResponse<String> created = timed(recorder, request("/flights", session.token())
+                .POST(body(flight(session.userId()))).build());
+        if (created.statusCode() != 201) {
+            return;
+        }
+        long flightId = objectMapper.readTree(created.body()).get("id").asLong();
+        FlightPurchaseRequest purchase = new FlightPurchaseRequest();
+        purchase.setUser_id(session.userId());
+        purchase.setUserId(session.userId());
+        purchase.setFlightId(flightId);
+        purchase.setType("tourist");
+        purchase.setState("active");
+        purchase.setPrice(199.0);
+        timed(recorder, request("/flights/purchase/1/card/" + airlineProviderId, session.token())
+                .POST(body(purchase)).build());
+        booked.add(flightId);
+    }
+
+    private void cancel(LatencyRecorder recorder) throws IOException, InterruptedException {
+        Long flightId = booked.poll();
+        if (flightId == null) {
+            // nothing booked yet: book one outside the measurement
+            Session session = sessions.get(ThreadLocalRandom.current().nextInt(sessions.size()));
+            HttpResponse<String> created = client.send(request("/flights", session.token())
+                    .POST(body(flight(session.userId()))).build(), HttpResponse.BodyHandlers.ofString());
+            if (created.statusCode() != 201) {
+                recorder.recordFailure();
+                return;
+            }
+            flightId = objectMapper.readTree(created.body()).get("id").asLong();
+        }
+        timed(recorder, request("/flights/deactivateTicket/" + flightId, null)
+                .PUT(HttpRequest.BodyPublishers.noBody()).build());
+    }
+
+    private Flight flight(long userId) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Flight flight = Flight.builder()
+                .flightNumber("LT" + random.nextInt(10_000))
+                .departureDate(new Date(System.currentTimeMillis() + 86_400_000L * (7 + random.nextInt(60))))
+                .departureLocation("City " + (1 + random.nextInt(50)))
+                .arrivalLocation("City " + (1 + random.nextInt(50)))
+                .type("tourist")
+                .purchaseDate(LocalDate.now())
+                .price(199.0)
+                .state("active")
+                // own bundle, so a cancellation touches a single flight
+                .bundle(UUID.randomUUID().toString())
+                .providerId(airlineProviderId)
+                .build();
+        flight.setUser(userId);
+        return flight;
+    }
+
+    private HttpResponse<String> timed(LatencyRecorder recorder, HttpRequest request)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        recorder.record(System.nanoTime() - start, response.statusCode());
+        return response;
+    }
+
+    private JsonNode post(String path, String token, Object body) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request(path, token).POST(body(body)).build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("POST " + path + " answered " + response.statusCode() + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(requestTimeout)
+                .header("Accept", "application/json")
+                .header("Content-Type", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpRequest.BodyPublisher body(Object value) throws IOException {
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(value));
+    }
+
+
+    /**
+     * Prints the summary table and writes it, with the stub call counts, as JSON.
+     *
+     * @param summaries
+     * @param stubCalls
+     * @param duration
+     * @throws IOException
+     */
+    void report(List<Summary> summaries, Map<String, Long> stubCalls, Duration duration) throws IOException {
+        StringBuilder table = new StringBuilder(String.format("%n%-13s %9s %10s %10s %10s %10s  %s%n",
+                "workload", "requests", "req/s", "p50 ms", "p99 ms", "max ms", "statuses"));
+        for (Summary summary : summaries) {
+            table.append(String.format("%-13s %9d %10.1f %10.1f %10.1f %10.1f  %s%s%n",
+                    summary.workload(), summary.requests(), summary.throughput(), summary.p50Ms(),
+                    summary.p99Ms(), summary.maxMs(), summary.statuses(),
+                    summary.failures() > 0 ? " failures=" + summary.failures() : ""));
+        }
+        table.append(String.format("stub provider calls: %s, mails discarded: %d%n",
+                stubCalls, LoadTestMailConfig.DISCARDED.sum()));
+        System.out.print(table);
+
+        Path file = Path.of(System.getProperty("loadtest.report",
+                "build/results/loadtest/loadtest-" + System.currentTimeMillis() + ".json"));
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("durationSeconds", duration.toSeconds());
+        report.put("workloads", summaries);
+        report.put("stubCalls", stubCalls);
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+        System.out.println("Report written to " + file.toAbsolutePath());
+    }
+
+    private static long setting(String name, long defaultValue) {
+        return Long.parseLong(System.getProperty("loadtest." + name, String.valueOf(defaultValue)));
+    }
+
+    private record Session(long userId, String token) {
+    }
+}
@@ -0,0 +1,34 @@
+package SpectraSystems.Nexus.loadtest;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * Replaces the SMTP sender during load runs: confirmation and cancellation mails are
+ * built as usual and counted, but never leave the machine.
+ */
+@Configuration
+public class LoadTestMailConfig {
+
+    static final LongAdder DISCARDED = new LongAdder();
+
+    
+    /** 
+     * @return 'JavaMailSender'
+     */
+    @Bean
+    public JavaMailSender javaMailSender() {
+        return new JavaMailSenderImpl() {
+            @Override
+            protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) {
+                DISCARDED.add(mimeMessages.length);
+            }
+        };
+    }
+}
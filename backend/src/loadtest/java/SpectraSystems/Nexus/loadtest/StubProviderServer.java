@@ -0,0 +1,264 @@
+package SpectraSystems.Nexus.loadtest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Local stand-in for an airline/hotel partner API, answering the calls the backend makes
+ * to providers with generated data after a log-normal delay, and failing a share of them.
+ */
+@Slf4j
+public class StubProviderServer {
+
+    // z-score of the 99th percentile of the standard normal distribution
+    private static final double Z_99 = 2.326;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, LongAdder> calls = new ConcurrentHashMap<>();
+    private final AtomicLong ticketIds = new AtomicLong(1);
+    private final double mu;
+    private final double sigma;
+    private final double errorRate;
+    private final int flightsPerSearch;
+    private final int hotelsPerSearch;
+    private final long seed;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private HttpServer server;
+
+    /**
+     * @param medianLatencyMs
+     * @param p99LatencyMs
+     * @param errorRate share of calls answered with 500, from 0 to 1
+     * @param flightsPerSearch
+     * @param hotelsPerSearch
+     * @param seed
+     */
+    public StubProviderServer(long medianLatencyMs, long p99LatencyMs, double errorRate,
+                              int flightsPerSearch, int hotelsPerSearch, long seed) {
+        double median = Math.max(1, medianLatencyMs);
+        this.mu = Math.log(median);
+        this.sigma = Math.max(0, Math.log(Math.max(median, p99LatencyMs) / median) / Z_99);
+        this.errorRate = errorRate;
+        this.flightsPerSearch = flightsPerSearch;
+        this.hotelsPerSearch = hotelsPerSearch;
+        this.seed = seed;
+    }
+
+
+    /**
+     * @param port 0 for any free port
+     * @throws IOException
+     */
+    public void start(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 512);
+        server.setExecutor(executor);
+        server.createContext("/get-one-way-flights", exchange -> handle(exchange, "get-one-way-flights",
+                () -> flights(query(exchange.getRequestURI()), false)));
+        server.createContext("/scale-flights", exchange -> handle(exchange, "scale-flights",
+                () -> flights(query(exchange.getRequestURI()), true)));
+        server.createContext("/get-cities", exchange -> handle(exchange, "get-cities", this::cities));
+        server.createContext("/availabletickets", exchange -> handle(exchange, "availabletickets",
+                () -> availableTickets(exchange.getRequestURI())));
+        server.createContext("/purchase", exchange -> handle(exchange, "purchase",
+                () -> purchase(exchange.getRequestURI())));
+        server.createContext("/get-filtered-hotels", exchange -> handle(exchange, "get-filtered-hotels",
+                () -> hotels(query(exchange.getRequestURI()))));
+        server.start();
+        log.info("Stub provider listening on {}", getBaseUrl());
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+        }
+        executor.shutdownNow();
+    }
+
+
+    /**
+     * @return 'String' the URL to register as providerUrl
+     */
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+
+    /**
+     * @return 'Map<String, Long>' calls received per endpoint
+     */
+    public Map<String, Long> getCalls() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        calls.forEach((endpoint, count) -> snapshot.put(endpoint, count.sum()));
+        return snapshot;
+    }
+
+    private void handle(HttpExchange exchange, String endpoint, ResponseBody body) throws IOException {
+        calls.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+        // one generator per call: the server handles each exchange on its own virtual thread
+        SplittableRandom random = new SplittableRandom(seed ^ System.nanoTime());
+        try {
+            sleep(Math.round(Math.exp(mu + sigma * random.nextGaussian())));
+            if (random.nextDouble() < errorRate) {
+                send(exchange, 500, Map.of("error", "stub provider failure"));
+                return;
+            }
+            Object response;
+            try {
+                response = body.get();
+            } catch (RuntimeException e) {
+                send(exchange, 400, Map.of("error", String.valueOf(e.getMessage())));
+                return;
+            }
+            send(exchange, 200, response);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void send(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private List<Map<String, Object>> flights(Map<String, String> query, boolean scales) {
+        long origin = Long.parseLong(query.getOrDefault("originCity", "1"));
+        long destination = Long.parseLong(query.getOrDefault("destinationCity", "2"));
+        LocalDate day = LocalDate.parse(query.getOrDefault("departureDay", LocalDate.now().toString()));
+        long midnight = day.atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+        List<Map<String, Object>> flights = new ArrayList<>(flightsPerSearch);
+        for (int i = 0; i < flightsPerSearch; i++) {
+            // scale legs stop over in a third city and continue the same day
+            long legDestination = scales ? 1000 + i : destination;
+            long departure = midnight + (6 + i % 16) * 3_600_000L;
+            Map<String, Object> flight = new LinkedHashMap<>();
+            flight.put("flightId", origin * 100_000 + legDestination * 10 + i);
+            flight.put("originCityId", origin);
+            flight.put("originCityName", "City " + origin);
+            flight.put("destinationCityId", legDestination);
+            flight.put("destinationCityName", "City " + legDestination);
+            flight.put("departureDate", departure);
+            flight.put("arrivalDate", departure + 7_200_000L);
+            flight.put("touristPrice", 150.0 + i * 7);
+            flight.put("businessPrice", 600.0 + i * 21);
+            flight.put("detail", scales ? "One stop" : "Nonstop");
+            flight.put("touristQuantity", 0);
+            flight.put("businessQuantity", 0);
+            flight.put("touristCapacity", 150);
+            flight.put("businessCapacity", 20);
+            flight.put("state", 1);
+            flights.add(flight);
+        }
+        return flights;
+    }
+
+    private List<Map<String, Object>> cities() {
+        List<Map<String, Object>> cities = new ArrayList<>();
+        for (int i = 1; i <= 50; i++) {
+            cities.add(Map.of("cityId", String.valueOf(i), "name", "City " + i));
+        }
+        return cities;
+    }
+
+    private List<Map<String, Object>> availableTickets(URI uri) {
+        // /availabletickets/{flightId}/{type}
+        String[] segments = uri.getPath().split("/");
+        String flightId = segments.length > 2 ? segments[2] : "0";
+        String type = segments.length > 3 ? segments[3] : "tourist";
+        List<Map<String, Object>> tickets = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            tickets.add(Map.of("ticket_id", ticketIds.getAndIncrement(), "flight_id", flightId, "type", type));
+        }
+        return tickets;
+    }
+
+    private List<Map<String, Object>> purchase(URI uri) {
+        // /purchase/{amount}/{method}/{discount}
+        String[] segments = uri.getPath().split("/");
+        int amount = segments.length > 2 ? Integer.parseInt(segments[2]) : 1;
+        List<Map<String, Object>> tickets = new ArrayList<>();
+        for (int i = 0; i <= amount; i++) {
+            tickets.add(Map.of("ticket_id", ticketIds.getAndIncrement(), "user_id", 1, "state", "active"));
+        }
+        return tickets;
+    }
+
+    private List<Map<String, Object>> hotels(Map<String, String> query) {
+        String city = query.getOrDefault("city", "City 1");
+        List<Map<String, Object>> hotels = new ArrayList<>(hotelsPerSearch);
+        for (int i = 0; i < hotelsPerSearch; i++) {
+            Map<String, Object> hotel = new LinkedHashMap<>();
+            hotel.put("_id", "hotel-" + city.hashCode() + "-" + i);
+            hotel.put("name", "Hotel " + i);
+            hotel.put("city", city);
+            hotel.put("stars", 1 + i % 5);
+            hotel.put("rooms", List.of(
+                    Map.of("type", "single", "price", 80.0 + i, "available", 5),
+                    Map.of("type", "double", "price", 120.0 + i, "available", 3)));
+            hotels.add(hotel);
+        }
+        return hotels;
+    }
+
+    private static Map<String, String> query(URI uri) {
+        Map<String, String> params = new HashMap<>();
+        String raw = uri.getRawQuery();
+        if (raw == null) {
+            return params;
+        }
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(decode(pair.substring(0, eq)), decode(pair.substring(eq + 1)));
+            }
+        }
+        return params;
+    }
+
+    private static String decode(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ResponseBody {
+        Object get();
+    }
+}
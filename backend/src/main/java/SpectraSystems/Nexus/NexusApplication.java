@@ -3,16 +3,24 @@ package SpectraSystems.Nexus;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(exclude = {SecurityAutoConfiguration.class})
+@EnableScheduling
 public class NexusApplication {
 
+	// Startup steps kept for /actuator/startup and the nexus.startup.* gauges
+	static final int STARTUP_STEP_CAPACITY = 10_000;
+
 	
 	/** 
 	 * @param args
 	 */
 	public static void main(String[] args) {
-		SpringApplication.run(NexusApplication.class, args);
+		SpringApplication application = new SpringApplication(NexusApplication.class);
+		application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEP_CAPACITY));
+		application.run(args);
 	}
 
 }
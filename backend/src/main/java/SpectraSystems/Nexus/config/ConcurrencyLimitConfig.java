@@ -0,0 +1,49 @@
+package SpectraSystems.Nexus.config;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import SpectraSystems.Nexus.filters.AimdConcurrencyLimiter;
+import SpectraSystems.Nexus.filters.ConcurrencyLimitFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class ConcurrencyLimitConfig {
+
+    
+    /** 
+     * @param environment nexus.concurrency.enabled and the {search,booking,admin}.* limits
+     * @param meterRegistry
+     * @return returns the 'FilterRegistrationBean<ConcurrencyLimitFilter>'
+     */
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(Environment environment,
+                                                                                MeterRegistry meterRegistry) {
+        Map<String, AimdConcurrencyLimiter> limiters = new HashMap<>();
+        for (String group : List.of(ConcurrencyLimitFilter.SEARCH, ConcurrencyLimitFilter.BOOKING, ConcurrencyLimitFilter.ADMIN)) {
+            String prefix = "nexus.concurrency." + group + ".";
+            limiters.put(group, new AimdConcurrencyLimiter(group,
+                    environment.getProperty(prefix + "initial-limit", Integer.class, 20),
+                    environment.getProperty(prefix + "min-limit", Integer.class, 2),
+                    environment.getProperty(prefix + "max-limit", Integer.class, 200),
+                    environment.getProperty(prefix + "target-latency-ms", Long.class, 1000L),
+                    environment.getProperty("nexus.concurrency.backoff-ratio", Double.class, 0.9)));
+        }
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(limiters,
+                        environment.getProperty("nexus.concurrency.retry-after-seconds", Long.class, 1L),
+                        meterRegistry));
+        // After the SQL counter and the HTTP metrics filter (so 503s are counted), before security
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        // Decided when the filter is registered, not by a condition the AOT build would fix
+        registration.setEnabled(environment.getProperty("nexus.concurrency.enabled", Boolean.class, true));
+        return registration;
+    }
+}
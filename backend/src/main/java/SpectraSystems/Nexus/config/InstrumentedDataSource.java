@@ -0,0 +1,239 @@
+package SpectraSystems.Nexus.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Times every JDBC statement per operation and table, counts statements on the
+ * current thread for the per-request summary and logs statements slower than the
+ * threshold with their SQL shape (literals and IN lists collapsed).
+ */
+@Slf4j
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    public static final String TIMER_NAME = "nexus.sql.statements";
+    static final String OTHER = "other";
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern TABLE = Pattern.compile("\\b(?:from|into|update)\\s+([\\w.$\"]+)");
+
+    // Statements executed by the current thread since the last reset
+    private static final ThreadLocal<int[]> STATEMENT_COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    private final Supplier<MeterRegistry> meterRegistry;
+    private final long slowThresholdMs;
+    private final int maxShapes;
+    // Parsed tags per distinct SQL string; the tags themselves are bounded by the tables
+    private final Map<String, Tags> statements = new ConcurrentHashMap<>();
+
+    public InstrumentedDataSource(DataSource target, Supplier<MeterRegistry> meterRegistry,
+                                  long slowThresholdMs, int maxShapes) {
+        super(target);
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdMs = slowThresholdMs;
+        this.maxShapes = maxShapes;
+    }
+
+
+    /**
+     * @return 'Connection'
+     * @throws SQLException
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+
+    /**
+     * @param username
+     * @param password
+     * @return 'Connection'
+     * @throws SQLException
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+
+    /**
+     * Starts counting statements on the current thread from zero.
+     */
+    public static void resetStatementCount() {
+        STATEMENT_COUNT.get()[0] = 0;
+    }
+
+
+    /**
+     * @return 'int' statements executed by the current thread since the last reset
+     */
+    public static int statementCount() {
+        return STATEMENT_COUNT.get()[0];
+    }
+
+
+    /**
+     * @param sql
+     * @return 'String' the statement with literals replaced by ? and IN lists collapsed
+     */
+    public static String normalize(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim().toLowerCase();
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { Connection.class }, new ConnectionHandler(connection));
+    }
+
+    private Object wrapStatement(Statement statement, Class<?> type, String sql) {
+        return Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { type }, new StatementHandler(statement, sql));
+    }
+
+    private void record(String sql, long elapsedNanos) {
+        STATEMENT_COUNT.get()[0]++;
+        MeterRegistry registry = meterRegistry.get();
+        if (registry != null) {
+            Tags tags = tagsOf(sql);
+            Timer.builder(TIMER_NAME)
+                    .description("JDBC statement execution time per operation and table")
+                    .tag("operation", tags.operation())
+                    .tag("table", tags.table())
+                    .register(registry)
+                    .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        if (slowThresholdMs > 0 && elapsedMs >= slowThresholdMs) {
+            log.warn("slow_query duration_ms={} thread=\"{}\" sql=\"{}\"",
+                    elapsedMs, Thread.currentThread().getName(), normalize(sql));
+        }
+    }
+
+    private Tags tagsOf(String sql) {
+        if (sql == null) {
+            return new Tags(OTHER, OTHER);
+        }
+        Tags cached = statements.get(sql);
+        if (cached != null) {
+            return cached;
+        }
+        Tags tags = parse(sql);
+        if (statements.size() < maxShapes) {
+            statements.put(sql, tags);
+        }
+        return tags;
+    }
+
+
+    /**
+     * @param sql
+     * @return 'Tags' the leading keyword and the first table read or written
+     */
+    static Tags parse(String sql) {
+        String lower = sql.trim().toLowerCase();
+        int space = lower.indexOf(' ');
+        String operation = space > 0 ? lower.substring(0, space) : OTHER;
+        Matcher table = TABLE.matcher(lower);
+        return new Tags(operation, table.find() ? table.group(1).replace("\"", "") : OTHER);
+    }
+
+    record Tags(String operation, String table) {
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("unwrap".equals(name) && ((Class<?>) args[0]).isInstance(proxy)) {
+                return proxy;
+            }
+            Object result = InstrumentedDataSource.invoke(target, method, args);
+            if (result instanceof CallableStatement statement && "prepareCall".equals(name)) {
+                return wrapStatement(statement, CallableStatement.class, (String) args[0]);
+            }
+            if (result instanceof PreparedStatement statement && "prepareStatement".equals(name)) {
+                return wrapStatement(statement, PreparedStatement.class, (String) args[0]);
+            }
+            if (result instanceof Statement statement && "createStatement".equals(name)) {
+                return wrapStatement(statement, Statement.class, null);
+            }
+            return result;
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String preparedSql;
+        private String lastBatchSql;
+
+        StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("addBatch".equals(name) && args != null && args.length == 1) {
+                lastBatchSql = (String) args[0];
+            }
+            if (!name.startsWith("execute")) {
+                return InstrumentedDataSource.invoke(target, method, args);
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String s
+                    ? s
+                    : preparedSql != null ? preparedSql : lastBatchSql;
+            long start = System.nanoTime();
+            try {
+                return InstrumentedDataSource.invoke(target, method, args);
+            } finally {
+                record(sql, System.nanoTime() - start);
+            }
+        }
+    }
+}
@@ -1,4 +1,5 @@
 package SpectraSystems.Nexus.config;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -9,11 +10,19 @@ public class PasswordConfig {
 
     
     /** 
+     * @param strength BCrypt cost; raising it rehashes existing passwords on their next login
+     * @param threads hashing threads, 0 for one per core
+     * @param queueCapacity hashing requests allowed to wait before answering 429
+     * @param timeoutMs longest a request thread waits for its hash; does not stop a hash already running
      * @return returns a 'PasswordEncoder'
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${auth.bcrypt.strength:10}") int strength,
+                                           @Value("${auth.hashing.threads:0}") int threads,
+                                           @Value("${auth.hashing.queue-capacity:16}") int queueCapacity,
+                                           @Value("${auth.hashing.timeout-ms:1000}") long timeoutMs) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), poolSize, queueCapacity, timeoutMs);
     }
 
 }
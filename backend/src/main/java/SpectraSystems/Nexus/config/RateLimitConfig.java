@@ -0,0 +1,52 @@
+package SpectraSystems.Nexus.config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import SpectraSystems.Nexus.filters.RateLimitFilter;
+import SpectraSystems.Nexus.filters.TokenBucketStore;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class RateLimitConfig {
+
+    
+    /** 
+     * @param environment nexus.ratelimit.enabled and routes[i].{name,method,patterns,capacity,refill-per-second}
+     * @param meterRegistry
+     * @return returns the 'FilterRegistrationBean<RateLimitFilter>'
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(Environment environment, MeterRegistry meterRegistry) {
+        List<RateLimitFilter.Route> routes = new ArrayList<>();
+        for (int i = 0; environment.containsProperty("nexus.ratelimit.routes[" + i + "].patterns"); i++) {
+            String prefix = "nexus.ratelimit.routes[" + i + "].";
+            routes.add(new RateLimitFilter.Route(
+                    environment.getProperty(prefix + "name", "route-" + i),
+                    environment.getProperty(prefix + "method"),
+                    Arrays.stream(environment.getRequiredProperty(prefix + "patterns").split(","))
+                            .map(String::trim)
+                            .filter(pattern -> !pattern.isEmpty())
+                            .toList(),
+                    new TokenBucketStore.Limit(
+                            environment.getProperty(prefix + "capacity", Long.class, 20L),
+                            environment.getProperty(prefix + "refill-per-second", Double.class, 1.0))));
+        }
+        TokenBucketStore buckets = new TokenBucketStore(
+                environment.getProperty("nexus.ratelimit.stripes", Integer.class, 16),
+                environment.getProperty("nexus.ratelimit.max-buckets", Integer.class, 100_000));
+        FilterRegistrationBean<RateLimitFilter> registration =
+                new FilterRegistrationBean<>(new RateLimitFilter(routes, buckets, meterRegistry));
+        // Right after the security filter chain, so the authenticated user is known
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        registration.setEnabled(environment.getProperty("nexus.ratelimit.enabled", Boolean.class, true));
+        return registration;
+    }
+}
@@ -0,0 +1,143 @@
+package SpectraSystems.Nexus.config;
+
+import javax.sql.DataSource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.config.DestructionAwareBeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+// Registered unconditionally and switched on by the replica URL at runtime: the startup image
+// is AOT-processed, and a condition on the URL would be decided by the build environment
+@Configuration
+@Slf4j
+public class ReadReplicaConfig {
+
+    static final String REPLICA_URL = "nexus.datasource.replica.url";
+
+    /**
+     * @param environment nexus.datasource.replica.{url,username,password,maximum-pool-size,sticky-ms,max-sticky-users}
+     * @return returns the 'ReplicaDataSourcePostProcessor'
+     */
+    @Bean
+    public static ReplicaDataSourcePostProcessor replicaDataSourcePostProcessor(Environment environment) {
+        return new ReplicaDataSourcePostProcessor(environment);
+    }
+
+
+    /**
+     * Hands the connection back after every transaction instead of holding it for the
+     * whole open-in-view session, so each transaction is routed on its own.
+     *
+     * @param environment
+     * @return returns a 'HibernatePropertiesCustomizer'
+     */
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction(Environment environment) {
+        return properties -> {
+            if (replicaConfigured(environment)) {
+                properties.put(AvailableSettings.CONNECTION_HANDLING,
+                        PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+            }
+        };
+    }
+
+
+    /**
+     * @param postProcessor
+     * @return returns a 'MeterBinder' for the hikaricp.* metrics of the replica pool
+     */
+    @Bean
+    public MeterBinder replicaPoolMetrics(ReplicaDataSourcePostProcessor postProcessor) {
+        return registry -> {
+            HikariDataSource replica = postProcessor.getReplica();
+            if (replica == null) {
+                return;
+            }
+            try {
+                replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            } catch (IllegalStateException e) {
+                log.warn("Could not bind replica pool metrics: {}", e.getMessage());
+            }
+        };
+    }
+
+    static boolean replicaConfigured(Environment environment) {
+        String url = environment.getProperty(REPLICA_URL);
+        return url != null && !url.isBlank();
+    }
+
+    /**
+     * Puts the routing in front of the primary pool. Ordered first, so the SQL
+     * instrumentation wraps the routed data source and counts each statement once.
+     */
+    public static class ReplicaDataSourcePostProcessor implements DestructionAwareBeanPostProcessor, Ordered {
+
+        private final Environment environment;
+        private volatile HikariDataSource replica;
+
+        ReplicaDataSourcePostProcessor(Environment environment) {
+            this.environment = environment;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!"dataSource".equals(beanName) || !(bean instanceof DataSource primary)
+                    || !replicaConfigured(environment)) {
+                return bean;
+            }
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("nexus-replica");
+            pool.setJdbcUrl(environment.getRequiredProperty(REPLICA_URL));
+            pool.setUsername(environment.getProperty("nexus.datasource.replica.username"));
+            pool.setPassword(environment.getProperty("nexus.datasource.replica.password"));
+            String driver = environment.getProperty("spring.datasource.driver-class-name");
+            if (driver != null) {
+                pool.setDriverClassName(driver);
+            }
+            pool.setMaximumPoolSize(environment.getProperty("nexus.datasource.replica.maximum-pool-size", Integer.class, 10));
+            // Safety net: a write routed here by mistake fails instead of diverging
+            pool.setReadOnly(true);
+            replica = pool;
+            log.info("Routing read-only service transactions to the replica pool");
+            ReadReplicaRoutingDataSource routing = new ReadReplicaRoutingDataSource(primary, pool,
+                    environment.getProperty("nexus.datasource.replica.sticky-ms", Long.class, 5000L),
+                    environment.getProperty("nexus.datasource.replica.max-sticky-users", Integer.class, 100_000));
+            routing.afterPropertiesSet();
+            // Picks the target at the first statement, after the transaction's read-only flag is bound
+            return new LazyConnectionDataSourceProxy(routing);
+        }
+
+        @Override
+        public void postProcessBeforeDestruction(Object bean, String beanName) {
+            if ("dataSource".equals(beanName) && replica != null) {
+                replica.close();
+            }
+        }
+
+        @Override
+        public boolean requiresDestruction(Object bean) {
+            return bean instanceof DataSource;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        HikariDataSource getReplica() {
+            return replica;
+        }
+    }
+}
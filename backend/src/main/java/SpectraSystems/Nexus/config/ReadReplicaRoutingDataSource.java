@@ -0,0 +1,147 @@
+package SpectraSystems.Nexus.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.sql.DataSource;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import SpectraSystems.Nexus.NexusApplication;
+
+/**
+ * Sends connections of read-only service transactions to the replica and everything
+ * else to the primary. After a user's own write, that user's reads stay on the primary
+ * for stickyMs so they do not miss it while the replica catches up. The sticky marker is
+ * kept in this instance only: behind a load balancer without session affinity, the next
+ * request may land on another pod and read the replica within the lag. Sessions routed
+ * to the replica read the second-level cache but do not put into it, so a lagging row
+ * is never served from the cache to other users for the region TTL. The creator calls
+ * afterPropertiesSet() once constructed.
+ */
+public final class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target { PRIMARY, REPLICA }
+
+    // Only transactions declared by our own services; Spring Data's default read-only
+    // repository transactions also run inside write flows and stay on the primary
+    private static final String SERVICE_TRANSACTION_PREFIX = NexusApplication.class.getPackageName() + ".";
+
+    private final long stickyMs;
+    private final int maxStickyUsers;
+    private final Map<String, Long> stickyUntil = new ConcurrentHashMap<>();
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, long stickyMs, int maxStickyUsers) {
+        this.stickyMs = stickyMs;
+        this.maxStickyUsers = maxStickyUsers;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+
+    /**
+     * Runs when the connection is actually needed, i.e. once the transaction is bound.
+     *
+     * @return 'Object' the 'Target'
+     */
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Target.PRIMARY;
+        }
+        String user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            markSticky(user);
+            return Target.PRIMARY;
+        }
+        String name = TransactionSynchronizationManager.getCurrentTransactionName();
+        if (name == null || !name.startsWith(SERVICE_TRANSACTION_PREFIX) || isSticky(user)) {
+            return Target.PRIMARY;
+        }
+        keepOutOfSecondLevelCache();
+        return Target.REPLICA;
+    }
+
+
+    /**
+     * @return 'int' users currently pinned to the primary
+     */
+    public int stickyUsers() {
+        return stickyUntil.size();
+    }
+
+    private static void keepOutOfSecondLevelCache() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        for (Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+            if (!(resource instanceof EntityManagerHolder holder)) {
+                continue;
+            }
+            Session session = holder.getEntityManager().unwrap(Session.class);
+            CacheMode previous = session.getCacheMode();
+            if (previous == CacheMode.GET || previous == CacheMode.IGNORE) {
+                continue;
+            }
+            session.setCacheMode(CacheMode.GET);
+            // Open-in-view keeps the session for later transactions, which may go to the primary
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (session.isOpen()) {
+                        session.setCacheMode(previous);
+                    }
+                }
+            });
+        }
+    }
+
+    private void markSticky(String user) {
+        if (user == null || stickyMs <= 0) {
+            return;
+        }
+        if (stickyUntil.size() >= maxStickyUsers && !stickyUntil.containsKey(user)) {
+            long now = System.currentTimeMillis();
+            stickyUntil.values().removeIf(until -> until <= now);
+            if (stickyUntil.size() >= maxStickyUsers) {
+                // Still full: start over, at worst a few reads see replica lag
+                stickyUntil.clear();
+            }
+        }
+        stickyUntil.put(user, System.currentTimeMillis() + stickyMs);
+    }
+
+    private boolean isSticky(String user) {
+        if (user == null) {
+            return false;
+        }
+        Long until = stickyUntil.get(user);
+        if (until == null) {
+            return false;
+        }
+        if (until <= System.currentTimeMillis()) {
+            stickyUntil.remove(user, until);
+            return false;
+        }
+        return true;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null
+                || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
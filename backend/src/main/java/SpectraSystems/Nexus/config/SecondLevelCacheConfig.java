@@ -0,0 +1,133 @@
+package SpectraSystems.Nexus.config;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+
+// Always registered; nexus.cache.second-level.enabled is read when the beans are created,
+// since a @Conditional would be settled once by the AOT build of the startup image
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String HIT_RATIO_GAUGE = "nexus.cache.region.hit.ratio";
+    static final String ENABLED = "nexus.cache.second-level.enabled";
+
+
+    /**
+     * One Caffeine cache per Hibernate region, each with its own size bound and TTL.
+     *
+     * @param environment nexus.cache.regions[i].{name,max-size,ttl-seconds}; ttl-seconds=0 never expires
+     * @return returns the 'CacheManager' handed to Hibernate
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(Environment environment) {
+        // A provider and URI of our own: test runs start several contexts in one JVM
+        URI uri = URI.create("nexus:hibernate:" + Integer.toHexString(System.identityHashCode(environment)));
+        CacheManager cacheManager = new CaffeineCachingProvider().getCacheManager(uri, getClass().getClassLoader());
+        for (int i = 0; environment.containsProperty("nexus.cache.regions[" + i + "].name"); i++) {
+            String prefix = "nexus.cache.regions[" + i + "].";
+            long ttlSeconds = environment.getProperty(prefix + "ttl-seconds", Long.class, 0L);
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(environment.getProperty(prefix + "max-size", Long.class, 1000L)));
+            if (ttlSeconds > 0) {
+                configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+            }
+            // Hibernate already stores disassembled state; copying it again on every get is waste
+            configuration.setStoreByValue(false);
+            configuration.setStatisticsEnabled(true);
+            cacheManager.createCache(environment.getRequiredProperty(prefix + "name"), configuration);
+        }
+        return cacheManager;
+    }
+
+
+    /**
+     * @param hibernateCacheManager
+     * @param environment
+     * @return returns a 'HibernatePropertiesCustomizer'
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCache(CacheManager hibernateCacheManager, Environment environment) {
+        return properties -> {
+            if (!environment.getProperty(ENABLED, Boolean.class, true)) {
+                properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+                return;
+            }
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+        };
+    }
+
+
+    /**
+     * cache.gets{result=hit|miss}, puts, removals and evictions per region, plus the hit ratio.
+     *
+     * @param hibernateCacheManager
+     * @param environment
+     * @return returns a 'MeterBinder'
+     */
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(CacheManager hibernateCacheManager, Environment environment) {
+        return registry -> {
+            if (!environment.getProperty(ENABLED, Boolean.class, true)) {
+                return;
+            }
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            for (String region : hibernateCacheManager.getCacheNames()) {
+                Cache<Object, Object> cache = hibernateCacheManager.getCache(region);
+                JCacheMetrics.monitor(registry, cache);
+                ObjectName statistics = statisticsName(cache);
+                Gauge.builder(HIT_RATIO_GAUGE, server, mbeans -> hitRatio(mbeans, statistics))
+                        .tag("region", region)
+                        .description("Share of second-level cache lookups answered from the region")
+                        .register(registry);
+            }
+        };
+    }
+
+    private static ObjectName statisticsName(Cache<?, ?> cache) {
+        try {
+            // Same naming as the JSR-107 statistics MXBean registration
+            return new ObjectName("javax.cache:type=CacheStatistics"
+                    + ",CacheManager=" + sanitize(cache.getCacheManager().getURI().toString())
+                    + ",Cache=" + sanitize(cache.getName()));
+        } catch (JMException e) {
+            throw new IllegalStateException("Invalid cache statistics name for " + cache.getName(), e);
+        }
+    }
+
+    private static double hitRatio(MBeanServer server, ObjectName statistics) {
+        try {
+            Object percentage = server.getAttribute(statistics, "CacheHitPercentage");
+            return percentage instanceof Number number ? number.doubleValue() / 100 : Double.NaN;
+        } catch (JMException e) {
+            return Double.NaN;
+        }
+    }
+
+    private static String sanitize(String name) {
+        return name == null ? "" : name.replaceAll("[,:=\n]", ".");
+    }
+}
@@ -38,6 +38,7 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userService.userDetailsService());
         authProvider.setPasswordEncoder(passwordEncoder);
+        authProvider.setUserDetailsPasswordService(userService.userDetailsPasswordService());
         return authProvider;
     }
 
@@ -64,6 +65,9 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                // startup timeline lists bean and class names; admins only, before the actuator permitAll
+                .requestMatchers("/actuator/startup", "/nexus/actuator/startup").hasRole("ADMIN")
+
                 // health & auth (both with and without /nexus)
                 .requestMatchers("/healthz", "/nexus/healthz", "/actuator/health", "/nexus/actuator/health", "/actuator/**", "/nexus/actuator/**").permitAll()
                 .requestMatchers("/auth/**", "/nexus/auth/**").permitAll()
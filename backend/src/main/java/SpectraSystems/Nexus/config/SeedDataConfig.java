@@ -1,6 +1,8 @@
 package SpectraSystems.Nexus.config;
 
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
@@ -25,6 +27,7 @@ public class SeedDataConfig implements CommandLineRunner {
     private final PasswordEncoder passwordEncoder;
     private final UserService userService;
     private final AboutUsService aboutUsService;
+    private final ApplicationStartup applicationStartup;
 
     
     /** 
@@ -33,6 +36,16 @@ public class SeedDataConfig implements CommandLineRunner {
      */
     @Override
     public void run(String... args) throws Exception {
+        // Recorded in the startup timeline next to the context refresh steps
+        StartupStep step = applicationStartup.start("nexus.seed-data");
+        try {
+            seed();
+        } finally {
+            step.end();
+        }
+    }
+
+    private void seed() {
         
       if (userRepository.count() == 0) {
 
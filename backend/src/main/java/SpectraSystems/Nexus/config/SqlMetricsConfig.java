@@ -0,0 +1,62 @@
+package SpectraSystems.Nexus.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import SpectraSystems.Nexus.filters.SqlStatementCountFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class SqlMetricsConfig {
+
+    static final String ENABLED = "nexus.sql.metrics.enabled";
+
+    
+    /** 
+     * Wraps the pool after it was bound, so Hikari settings and pool metrics are unaffected.
+     *
+     * @param meterRegistry
+     * @param environment
+     * @return returns a 'BeanPostProcessor'
+     */
+    @Bean
+    public static BeanPostProcessor instrumentedDataSourcePostProcessor(ObjectProvider<MeterRegistry> meterRegistry,
+                                                                        Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof InstrumentedDataSource)
+                        && environment.getProperty(ENABLED, Boolean.class, true)) {
+                    return new InstrumentedDataSource(dataSource, meterRegistry::getIfAvailable,
+                            environment.getProperty("nexus.sql.slow-threshold-ms", Long.class, 200L),
+                            environment.getProperty("nexus.sql.max-shapes", Integer.class, 500));
+                }
+                return bean;
+            }
+        };
+    }
+
+    
+    /** 
+     * @param meterRegistry
+     * @param environment
+     * @return returns the 'FilterRegistrationBean<SqlStatementCountFilter>'
+     */
+    @Bean
+    public FilterRegistrationBean<SqlStatementCountFilter> sqlStatementCountFilter(MeterRegistry meterRegistry,
+                                                                                  Environment environment) {
+        FilterRegistrationBean<SqlStatementCountFilter> registration =
+                new FilterRegistrationBean<>(new SqlStatementCountFilter(meterRegistry));
+        // Outermost, so the user lookup done by the security filters is counted too
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        registration.setEnabled(environment.getProperty(ENABLED, Boolean.class, true));
+        return registration;
+    }
+}
@@ -0,0 +1,118 @@
+package SpectraSystems.Nexus.config;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Turns the buffered startup timeline into gauges once the application is ready:
+ * one per phase (step name) and one for each of the slowest bean instantiations.
+ * The full timeline stays available at /actuator/startup.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StartupTimelineMetrics implements ApplicationListener<ApplicationReadyEvent> {
+
+    static final String BEAN_STEP = "spring.beans.instantiate";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${nexus.startup.top-beans:25}")
+    int topBeans = 25;
+
+    
+    /** 
+     * @param event
+     */
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        ApplicationStartup startup = event.getApplicationContext().getApplicationStartup();
+        if (startup instanceof BufferingApplicationStartup buffering) {
+            record(buffering.getBufferedTimeline());
+        }
+    }
+
+    
+    /** 
+     * @param timeline
+     */
+    void record(StartupTimeline timeline) {
+        List<StartupTimeline.TimelineEvent> events = timeline.getEvents();
+        Map<Long, StartupStep> steps = new HashMap<>();
+        for (StartupTimeline.TimelineEvent event : events) {
+            steps.put(event.getStartupStep().getId(), event.getStartupStep());
+        }
+
+        Map<String, Duration> phases = new TreeMap<>();
+        for (StartupTimeline.TimelineEvent event : events) {
+            StartupStep step = event.getStartupStep();
+            // Beans instantiated while creating another bean are already inside its duration
+            if (!nestedInSameStep(step, steps)) {
+                phases.merge(step.getName(), event.getDuration(), Duration::plus);
+            }
+        }
+        phases.forEach((phase, duration) -> Gauge.builder("nexus.startup.phase.duration", () -> seconds(duration))
+                .description("Time spent in a startup phase, summed over its outermost occurrences")
+                .tag("phase", phase)
+                .baseUnit("seconds")
+                .register(meterRegistry));
+
+        events.stream()
+                .filter(event -> BEAN_STEP.equals(event.getStartupStep().getName()))
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(topBeans)
+                .forEach(event -> Gauge.builder("nexus.startup.bean.duration", () -> seconds(event.getDuration()))
+                        .description("Instantiation time of one of the slowest beans, dependencies included")
+                        .tag("bean", beanName(event.getStartupStep()))
+                        .baseUnit("seconds")
+                        .register(meterRegistry));
+
+        log.info("Startup timeline: {} steps recorded, {} phases", events.size(), phases.size());
+    }
+
+    private static boolean nestedInSameStep(StartupStep step, Map<Long, StartupStep> steps) {
+        Long parentId = step.getParentId();
+        while (parentId != null) {
+            StartupStep parent = steps.get(parentId);
+            if (parent == null) {
+                return false;
+            }
+            if (parent.getName().equals(step.getName())) {
+                return true;
+            }
+            parentId = parent.getParentId();
+        }
+        return false;
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if ("beanName".equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return "unknown";
+    }
+
+    private static double seconds(Duration duration) {
+        return duration.toNanos() / 1_000_000_000.0;
+    }
+}
@@ -0,0 +1,45 @@
+package SpectraSystems.Nexus.config;
+
+import java.util.concurrent.Executors;
+
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Boot's own virtual-thread customizers sit behind @ConditionalOnThreading, which the AOT build
+// of the startup image settles once; this one reads the flag when the connector is created
+@Configuration
+@Slf4j
+public class VirtualThreadConfig {
+
+    static final String ENABLED = "spring.threads.virtual.enabled";
+
+    
+    /** 
+     * @param environment
+     * @return 'boolean' whether requests run on virtual threads in this process
+     */
+    static boolean virtualThreadsEnabled(Environment environment) {
+        return environment.getProperty(ENABLED, Boolean.class, false);
+    }
+
+    
+    /** 
+     * @param environment spring.threads.virtual.enabled
+     * @return returns the 'TomcatProtocolHandlerCustomizer<?>'
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(Environment environment) {
+        return protocolHandler -> {
+            if (!virtualThreadsEnabled(environment)) {
+                return;
+            }
+            protocolHandler.setExecutor(Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("tomcat-handler-", 0).factory()));
+            log.info("Serving requests on virtual threads");
+        };
+    }
+}
@@ -0,0 +1,128 @@
+package SpectraSystems.Nexus.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams the JFR jdk.VirtualThreadPinned events in-process while requests run on virtual
+ * threads (the same runtime check as {@link VirtualThreadConfig}): a virtual thread that
+ * blocks inside synchronized code or a native frame holds on to its carrier. Each pin is timed under nexus.virtualthreads.pinned, tagged
+ * with the first non-JDK frame of the stack, and logged with its stack once per frame.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    static final int MAX_FRAMES = 100;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${" + VirtualThreadConfig.ENABLED + ":false}")
+    boolean virtualThreadsEnabled;
+
+    @Value("${nexus.virtual-threads.pinned-threshold-ms:20}")
+    long thresholdMs = 20;
+
+    private final Set<String> reportedFrames = ConcurrentHashMap.newKeySet();
+    private volatile RecordingStream stream;
+
+    @Override
+    public synchronized void start() {
+        if (!virtualThreadsEnabled || stream != null) {
+            return;
+        }
+        RecordingStream recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMs)).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::record);
+        recording.startAsync();
+        stream = recording;
+        log.info("Reporting virtual thread pinning longer than {} ms", thresholdMs);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    
+    /** 
+     * @param event
+     */
+    void record(RecordedEvent event) {
+        String frame = culprit(event.getStackTrace());
+        if (!reportedFrames.contains(frame) && reportedFrames.size() >= MAX_FRAMES) {
+            frame = "other";
+        }
+        Timer.builder("nexus.virtualthreads.pinned")
+                .description("Time a virtual thread kept its carrier thread pinned")
+                .tag("frame", frame)
+                .register(meterRegistry)
+                .record(event.getDuration());
+        if (reportedFrames.add(frame)) {
+            log.warn("virtual_thread_pinned duration_ms={} frame={}\n{}",
+                    event.getDuration().toMillis(), frame, format(event.getStackTrace()));
+        }
+    }
+
+    
+    /** 
+     * @param stackTrace
+     * @return 'String' class.method of the first frame outside the JDK, the top frame otherwise
+     */
+    static String culprit(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "unknown";
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        for (RecordedFrame frame : frames) {
+            if (frame.isJavaFrame() && !isJdk(frame.getMethod().getType().getName())) {
+                return describe(frame);
+            }
+        }
+        return describe(frames.get(0));
+    }
+
+    private static boolean isJdk(String className) {
+        return className.startsWith("java.") || className.startsWith("jdk.") || className.startsWith("sun.");
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+    }
+
+    private static String format(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "";
+        }
+        StringBuilder text = new StringBuilder();
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            text.append("\tat ").append(describe(frame)).append(':').append(frame.getLineNumber()).append('\n');
+        }
+        return text.toString();
+    }
+}
@@ -1,12 +1,18 @@
 package SpectraSystems.Nexus.controllers;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
 
+import SpectraSystems.Nexus.dto.CachedJson;
 import SpectraSystems.Nexus.models.Aboutus;
 import SpectraSystems.Nexus.services.AboutUsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +22,9 @@ import java.util.Optional;
 public class AboutUsController {
     private final AboutUsService aboutUsService;
 
+    @Value("${aboutus.cache.max-age-seconds:60}")
+    private long maxAgeSeconds = 60;
+
     
     /** 
      * @param aboutUsEntity
@@ -30,14 +39,26 @@ public class AboutUsController {
     
     /** 
      * @param id
-     * @return returns a 'ResponseEntity<Aboutus>'
+     * @param request
+     * @return returns a 'ResponseEntity<byte[]>' the cached JSON, or 304 when If-None-Match matches
      */
     @CrossOrigin(origins = "*", allowedHeaders = "*")
     @GetMapping("/{id}")
-    public ResponseEntity<Aboutus> getAboutUsById(@PathVariable Long id) {
-        Optional<Aboutus> aboutUs = aboutUsService.findById(id);
-        return aboutUs.map(value -> new ResponseEntity<>(value, HttpStatus.OK))
-                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    public ResponseEntity<byte[]> getAboutUsById(@PathVariable Long id, WebRequest request) {
+        Optional<CachedJson> aboutUs = aboutUsService.findSerializedById(id);
+        if (aboutUs.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        CachedJson json = aboutUs.get();
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic();
+        if (request.checkNotModified(json.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(json.etag()).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(json.etag())
+                .cacheControl(cacheControl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(json.body());
     }
 
     
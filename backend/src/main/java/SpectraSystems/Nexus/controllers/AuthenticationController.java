@@ -1,7 +1,11 @@
 package SpectraSystems.Nexus.controllers;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import lombok.RequiredArgsConstructor;
@@ -9,6 +13,8 @@ import SpectraSystems.Nexus.dto.JwtAuthenticationResponse;
 import SpectraSystems.Nexus.dto.SignInRequest;
 import SpectraSystems.Nexus.dto.SignUpRequest;
 import SpectraSystems.Nexus.services.AuthenticationService;
+import SpectraSystems.Nexus.services.TokenRevocationService;
+import io.jsonwebtoken.JwtException;
 
 @RestController
 @RequestMapping("/auth")
@@ -16,6 +22,7 @@ import SpectraSystems.Nexus.services.AuthenticationService;
 public class AuthenticationController {
 
     private final AuthenticationService authenticationService;
+    private final TokenRevocationService tokenRevocationService;
 
     
     /** 
@@ -36,4 +43,24 @@ public class AuthenticationController {
     public JwtAuthenticationResponse signin(@RequestBody SignInRequest request) {
         return authenticationService.signin(request);
     }
-}
\ No newline at end of file
+
+
+    /** 
+     * Revokes the bearer token so it is rejected before its expiration.
+     *
+     * @param authorization
+     * @return the 'ResponseEntity<Void>'
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            tokenRevocationService.revoke(authorization.substring(7));
+        } catch (JwtException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
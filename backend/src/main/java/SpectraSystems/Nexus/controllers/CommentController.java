@@ -4,6 +4,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import SpectraSystems.Nexus.dto.CommentPage;
 import SpectraSystems.Nexus.models.Comment;
 import SpectraSystems.Nexus.services.CommentService;
 
@@ -49,6 +50,34 @@ public class CommentController {
     }
 
     
+    /** 
+     * @param flightId
+     * @param cursor
+     * @param limit
+     * @param replies
+     * @return the 'ResponseEntity<CommentPage>'
+     */
+    // Endpoint to page through a flight's top-level comments
+    @GetMapping("/flight/{flightId}")
+    public ResponseEntity<CommentPage> getCommentPage(@PathVariable("flightId") Long flightId,
+                                                      @RequestParam(value = "cursor", required = false) String cursor,
+                                                      @RequestParam(value = "limit", defaultValue = "20") int limit,
+                                                      @RequestParam(value = "replies", defaultValue = "0") int replies) {
+        return new ResponseEntity<>(commentService.getCommentPage(flightId, cursor, limit, replies), HttpStatus.OK);
+    }
+
+    
+    /** 
+     * @param flightId
+     * @return the 'ResponseEntity<List<Comment>>' top-level comments with their replies nested
+     */
+    // Endpoint to retrieve a flight's whole comment thread
+    @GetMapping("/flight/{flightId}/tree")
+    public ResponseEntity<List<Comment>> getCommentTree(@PathVariable("flightId") Long flightId) {
+        return new ResponseEntity<>(commentService.getCommentTree(flightId), HttpStatus.OK);
+    }
+
+    
     /** 
      * @param comment
      * @return the 'ResponseEntity<Comment>'
@@ -15,7 +15,6 @@ import SpectraSystems.Nexus.models.City;
 import SpectraSystems.Nexus.models.Flight;
 import SpectraSystems.Nexus.models.FlightPurchaseRequest;
 import SpectraSystems.Nexus.models.Reservation;
-import SpectraSystems.Nexus.models.User;
 import SpectraSystems.Nexus.models.externalFlight;
 import SpectraSystems.Nexus.repositories.FlightRepository;
 import SpectraSystems.Nexus.repositories.ReservationRepository;
@@ -137,6 +136,17 @@ public class FlightController {
         
 
         // Add return flights to each outbound flight
+        pairReturnFlights(outboundFlights, returnFlights);
+        return new ResponseEntity<>(outboundFlights, HttpStatus.OK);
+    }
+
+    
+    /** 
+     * @param outboundFlights
+     * @param returnFlights
+     */
+    // Sets on each outbound flight the first return flight that matches it
+    static void pairReturnFlights(List<externalFlight> outboundFlights, List<externalFlight> returnFlights) {
         for (externalFlight outboundFlight : outboundFlights) {
             for (externalFlight returnFlight : returnFlights) {
                 if (matchFlights(outboundFlight, returnFlight)) {
@@ -145,7 +155,6 @@ public class FlightController {
                 }
             }
         }
-        return new ResponseEntity<>(outboundFlights, HttpStatus.OK);
     }
 
     
@@ -155,7 +164,7 @@ public class FlightController {
      * @return a 'boolean' if the flights match
      */
     // Method to check if flights match based on origin, destination cities, and scales
-    private boolean matchFlights(externalFlight outboundFlight, externalFlight returnFlight) {
+    static boolean matchFlights(externalFlight outboundFlight, externalFlight returnFlight) {
         if (outboundFlight.getScale() != null && returnFlight.getScale() != null) {
             return outboundFlight.getScale().getDestinationCityId().equals(returnFlight.getOriginCityId()) &&
                     outboundFlight.getOriginCityId().equals(returnFlight.getScale().getDestinationCityId());
@@ -229,6 +238,19 @@ public class FlightController {
     }
 
     
+    /** 
+     * @param id
+     * @param rating
+     * @return the 'ResponseEntity<Flight>'
+     */
+    // Endpoint to rate a purchased flight from 1 to 5
+    @PutMapping("/{id}/rating/{rating}")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<Flight> rateFlight(@PathVariable("id") Long id, @PathVariable("rating") Long rating) {
+        return new ResponseEntity<>(flightService.rateFlight(id, rating), HttpStatus.OK);
+    }
+
+    
     /** 
      * @param flightNumber
      * @return the 'ResponseEntity<List<Flight>>'
@@ -317,10 +339,9 @@ public class FlightController {
     private void sendCancellationEmail(Long userId, String Type) {
         try {
             // Retrieve user by userId
-            Optional<User> optionalUser = userService.getUserById(userId);
-            if (optionalUser.isPresent()) {
-                User user = optionalUser.get();
-                String userEmail = user.getEmail();    
+            Optional<String> optionalEmail = userService.getUserEmail(userId);
+            if (optionalEmail.isPresent()) {
+                String userEmail = optionalEmail.get();    
                 // Create MimeMessage
                 MimeMessage message = emailSender.createMimeMessage();
                 if ("flight".equals(Type)) {
@@ -353,10 +374,9 @@ public class FlightController {
     private void sendPurchaseConfirmationEmail(Long userId) {
         try {
             // Retrieve user by userId
-            Optional<User> optionalUser = userService.getUserById(userId);
-            if (optionalUser.isPresent()) {
-                User user = optionalUser.get();
-                String userEmail = user.getEmail();
+            Optional<String> optionalEmail = userService.getUserEmail(userId);
+            if (optionalEmail.isPresent()) {
+                String userEmail = optionalEmail.get();
                 // Create MimeMessage
                 MimeMessage message = emailSender.createMimeMessage();
                 MimeMessageHelper helper = new MimeMessageHelper(message, true);
@@ -15,10 +15,10 @@ import org.springframework.web.client.RestTemplate;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import SpectraSystems.Nexus.config.EncodingConfig;
 import SpectraSystems.Nexus.models.Provider;
 import SpectraSystems.Nexus.models.Reservation;
 import SpectraSystems.Nexus.models.Type;
-import SpectraSystems.Nexus.models.User;
 import SpectraSystems.Nexus.repositories.ProviderRepository;
 import SpectraSystems.Nexus.services.ReservationService;
 import SpectraSystems.Nexus.services.UserService;
@@ -174,6 +174,19 @@ public class ReservationController {
     }
 
     
+    /** 
+     * @param id
+     * @param rating
+     * @return a 'ResponseEntity<Reservation>'
+     */
+    // Endpoint to rate a hotel reservation from 1 to 5
+    @PutMapping("/{id}/rating/{rating}")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<Reservation> rateReservation(@PathVariable("id") Long id, @PathVariable("rating") Long rating) {
+        return new ResponseEntity<>(reservationService.rateReservation(id, rating), HttpStatus.OK);
+    }
+
+    
     /** 
      * @param id
      * @return a 'ResponseEntity<Void>'
@@ -213,7 +226,8 @@ public class ReservationController {
      * @param getHotels(
      * @return a 'ResponseEntity<List<Map<String, Object>>>'
      */
-    @GetMapping(value = "/hotelsearch", produces = MediaType.APPLICATION_JSON_VALUE)
+    @GetMapping(value = "/hotelsearch", produces = {
+            MediaType.APPLICATION_JSON_VALUE, EncodingConfig.APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE })
     public ResponseEntity<List<Map<String, Object>>> getHotels(
             @RequestParam(value = "city", required = false) String city,
             @RequestParam(value = "check-in", required = false) String checkIn,
@@ -265,7 +279,8 @@ public class ReservationController {
      * @param getHotelRoomById(
      * @return a 'ResponseEntity<Map<String, Object>>'
      */
-    @GetMapping(value = "/roomsearch", produces = MediaType.APPLICATION_JSON_VALUE)
+    @GetMapping(value = "/roomsearch", produces = {
+            MediaType.APPLICATION_JSON_VALUE, EncodingConfig.APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE })
     public ResponseEntity<Map<String, Object>> getHotelRoomById(
             @RequestParam(value = "id", required = false) String id,
             @RequestParam(value = "city", required = false) String city,
@@ -371,10 +386,9 @@ public class ReservationController {
     private void sendPurchaseConfirmationEmail(Long userId) {
         try {
             // Retrieve user by userId
-            Optional<User> optionalUser = userService.getUserById(userId);
-            if (optionalUser.isPresent()) {
-                User user = optionalUser.get();
-                String userEmail = user.getEmail();
+            Optional<String> optionalEmail = userService.getUserEmail(userId);
+            if (optionalEmail.isPresent()) {
+                String userEmail = optionalEmail.get();
                 // Create MimeMessage
                 MimeMessage message = emailSender.createMimeMessage();
                 MimeMessageHelper helper = new MimeMessageHelper(message, true);
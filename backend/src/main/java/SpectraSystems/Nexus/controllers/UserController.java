@@ -1,24 +1,44 @@
 package SpectraSystems.Nexus.controllers;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import SpectraSystems.Nexus.dto.UserImportResult;
+import SpectraSystems.Nexus.dto.UserSummary;
 import SpectraSystems.Nexus.models.User;
+import SpectraSystems.Nexus.services.UserImportService;
 import SpectraSystems.Nexus.services.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.function.Consumer;
 
 @RestController
 @RequestMapping("/users")
 public class UserController {
 
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
     private final UserService userService;
+    private final UserImportService userImportService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public UserController(UserService userService) {
+    public UserController(UserService userService, UserImportService userImportService, ObjectMapper objectMapper) {
         this.userService = userService;
+        this.userImportService = userImportService;
+        this.objectMapper = objectMapper;
     }
 
     
@@ -33,6 +53,33 @@ public class UserController {
     }
 
     
+    /** 
+     * @param page
+     * @param size
+     * @return a 'ResponseEntity<Page<UserSummary>>'
+     */
+    // Endpoint to list users without loading full entities
+    @GetMapping("/summary")
+    public ResponseEntity<Page<UserSummary>> getUserSummaries(
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        return new ResponseEntity<>(userService.getUserSummaries(page, size), HttpStatus.OK);
+    }
+
+    
+    /** 
+     * @param id
+     * @return a 'ResponseEntity<UserSummary>'
+     */
+    // Endpoint to look up a user's summary by ID
+    @GetMapping("/{id}/summary")
+    public ResponseEntity<UserSummary> getUserSummaryById(@PathVariable("id") Long id) {
+        return userService.getUserSummaryById(id)
+                .map(summary -> new ResponseEntity<>(summary, HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    
     /** 
      * @param id
      * @return a 'ResponseEntity<User>'
@@ -58,6 +105,43 @@ public class UserController {
     }
 
     
+    /** 
+     * @param request JSON array, NDJSON or CSV (with a header line) of sign-up requests
+     * @param response one NDJSON result line per row, flushed after every chunk
+     * @throws IOException
+     */
+    // Endpoint to register many users at once
+    @PostMapping(value = "/import",
+                 consumes = { MediaType.APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE, "text/csv" },
+                 produces = APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        PrintWriter out = response.getWriter();
+        Consumer<List<UserImportResult>> sink = results -> {
+            try {
+                for (UserImportResult result : results) {
+                    out.write(objectMapper.writeValueAsString(result));
+                    out.write('\n');
+                }
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        MediaType contentType = request.getContentType() == null
+                ? MediaType.APPLICATION_JSON
+                : MediaType.parseMediaType(request.getContentType());
+        if (contentType.isCompatibleWith(MediaType.parseMediaType("text/csv"))) {
+            userImportService.importCsv(request.getReader(), sink);
+        } else {
+            userImportService.importJson(request.getInputStream(), sink);
+        }
+    }
+
+    
     /** 
      * @param id
      * @param userDetails
@@ -0,0 +1,10 @@
+package SpectraSystems.Nexus.dto;
+
+/**
+ * A response body serialized once, with the strong ETag of its bytes.
+ *
+ * @param body UTF-8 JSON
+ * @param etag quoted SHA-256 of the body
+ */
+public record CachedJson(byte[] body, String etag) {
+}
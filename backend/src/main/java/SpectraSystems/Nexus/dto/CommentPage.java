@@ -0,0 +1,19 @@
+package SpectraSystems.Nexus.dto;
+
+import java.util.List;
+
+import SpectraSystems.Nexus.models.Comment;
+import lombok.*;
+import lombok.extern.jackson.Jacksonized;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Jacksonized
+public class CommentPage {
+    // Top-level comments, each with up to the requested number of replies in children
+    private List<Comment> comments;
+    // Opaque; pass back as ?cursor= for the next page, null on the last page
+    private String nextCursor;
+}
@@ -0,0 +1,30 @@
+package SpectraSystems.Nexus.dto;
+
+/**
+ * Outcome of one row of a bulk user import, streamed back as one NDJSON line.
+ *
+ * @param row 1-based position in the uploaded stream
+ * @param email
+ * @param status
+ * @param message why the row was skipped, null when created
+ */
+public record UserImportResult(int row, String email, Status status, String message) {
+
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        INVALID
+    }
+
+    public static UserImportResult created(int row, String email) {
+        return new UserImportResult(row, email, Status.CREATED, null);
+    }
+
+    public static UserImportResult duplicate(int row, String email, String message) {
+        return new UserImportResult(row, email, Status.DUPLICATE, message);
+    }
+
+    public static UserImportResult invalid(int row, String email, String message) {
+        return new UserImportResult(row, email, Status.INVALID, message);
+    }
+}
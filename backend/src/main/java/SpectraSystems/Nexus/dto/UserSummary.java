@@ -0,0 +1,10 @@
+package SpectraSystems.Nexus.dto;
+
+import SpectraSystems.Nexus.models.Role;
+
+/**
+ * Read-only view of a user for list and lookup paths; built directly by the query,
+ * so no managed User entity (password hash included) is hydrated.
+ */
+public record UserSummary(Long id, String firstName, String lastName, String email, Role role) {
+}
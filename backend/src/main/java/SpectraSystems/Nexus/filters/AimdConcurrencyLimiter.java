@@ -0,0 +1,81 @@
+package SpectraSystems.Nexus.filters;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit for one endpoint group, adjusted from observed latency: grows by
+ * about one per limit's worth of fast responses while the limit is actually in use,
+ * and is multiplied by the backoff ratio (at most once per target latency) when a
+ * response is slower than the target or the request was shed downstream.
+ */
+public class AimdConcurrencyLimiter {
+
+    private final String group;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private final double backoffRatio;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private volatile double limit;
+    private long lastDecreaseNanos;
+
+    public AimdConcurrencyLimiter(String group, int initialLimit, int minLimit, int maxLimit,
+                                  long targetLatencyMs, double backoffRatio) {
+        this.group = group;
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.targetLatencyNanos = TimeUnit.MILLISECONDS.toNanos(targetLatencyMs);
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.lastDecreaseNanos = System.nanoTime() - targetLatencyNanos;
+    }
+
+    
+    /** 
+     * @return 'boolean' false when the group is at its limit and the request must be shed
+     */
+    public boolean tryAcquire() {
+        if (inflight.incrementAndGet() > (int) limit) {
+            inflight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    
+    /** 
+     * @param latencyNanos how long the admitted request took
+     * @param overloaded whether the request failed because something downstream was saturated
+     */
+    public void release(long latencyNanos, boolean overloaded) {
+        int inflightBefore = inflight.getAndDecrement();
+        onSample(latencyNanos, overloaded, inflightBefore, System.nanoTime());
+    }
+
+    synchronized void onSample(long latencyNanos, boolean overloaded, int inflightBefore, long nowNanos) {
+        double current = limit;
+        if (overloaded || latencyNanos > targetLatencyNanos) {
+            // Responses already in flight carry the same signal: back off once per window
+            if (nowNanos - lastDecreaseNanos >= targetLatencyNanos) {
+                limit = Math.max(minLimit, current * backoffRatio);
+                lastDecreaseNanos = nowNanos;
+            }
+        } else if (inflightBefore * 2 >= current) {
+            limit = Math.min(maxLimit, current + 1.0 / current);
+        }
+    }
+
+    public String getGroup() {
+        return group;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+}
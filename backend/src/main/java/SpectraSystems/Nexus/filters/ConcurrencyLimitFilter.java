@@ -0,0 +1,128 @@
+package SpectraSystems.Nexus.filters;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.common.lang.NonNull;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Sheds load per endpoint group before the request reaches security or the controllers:
+ * over the group's adaptive limit the request is answered at once with 503 and
+ * Retry-After instead of queueing behind the others.
+ * Registered by ConcurrencyLimitConfig rather than as a component.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    public static final String SEARCH = "search";
+    public static final String BOOKING = "booking";
+    public static final String ADMIN = "admin";
+
+    private static final byte[] BUSY_BODY =
+            "{\"error\":\"Server is busy, please retry shortly.\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final Map<String, AimdConcurrencyLimiter> limiters;
+    private final Map<String, Counter> rejected;
+    private final long retryAfterSeconds;
+
+    public ConcurrencyLimitFilter(Map<String, AimdConcurrencyLimiter> limiters, long retryAfterSeconds,
+                                  MeterRegistry meterRegistry) {
+        this.limiters = Map.copyOf(limiters);
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.rejected = new HashMap<>();
+        for (AimdConcurrencyLimiter limiter : this.limiters.values()) {
+            Gauge.builder("nexus.concurrency.limit", limiter, AimdConcurrencyLimiter::getLimit)
+                    .description("Current adaptive concurrency limit")
+                    .tag("group", limiter.getGroup())
+                    .register(meterRegistry);
+            Gauge.builder("nexus.concurrency.inflight", limiter, AimdConcurrencyLimiter::getInflight)
+                    .description("Requests being served")
+                    .tag("group", limiter.getGroup())
+                    .register(meterRegistry);
+            rejected.put(limiter.getGroup(), Counter.builder("nexus.concurrency.rejected")
+                    .description("Requests shed with 503 because the group was at its limit")
+                    .tag("group", limiter.getGroup())
+                    .register(meterRegistry));
+        }
+    }
+
+
+    /**
+     * @param request
+     * @param response
+     * @param filterChain
+     * @throws ServletException
+     * @throws IOException
+     */
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        String group = group(request);
+        AimdConcurrencyLimiter limiter = group == null ? null : limiters.get(group);
+        if (limiter == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!limiter.tryAcquire()) {
+            rejected.get(group).increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader("Retry-After", Long.toString(retryAfterSeconds));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getOutputStream().write(BUSY_BODY);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean overloaded = false;
+        try {
+            filterChain.doFilter(request, response);
+            overloaded = response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value()
+                    || response.getStatus() == HttpStatus.GATEWAY_TIMEOUT.value();
+        } catch (IOException | ServletException | RuntimeException e) {
+            overloaded = true;
+            throw e;
+        } finally {
+            limiter.release(System.nanoTime() - start, overloaded);
+        }
+    }
+
+
+    /**
+     * @param request
+     * @return 'String' the endpoint group, null for requests that are never shed
+     */
+    static String group(HttpServletRequest request) {
+        String path = RequestPaths.withinApplication(request);
+        boolean read = HttpMethod.GET.matches(request.getMethod());
+        if (path.startsWith("/flights/avianca/")
+                || path.startsWith("/reservations/hotelsearch")
+                || path.startsWith("/reservations/roomsearch")
+                || path.equals("/reservations/cities")) {
+            return SEARCH;
+        }
+        if (!read && (path.startsWith("/flights") || path.startsWith("/reservations"))) {
+            return BOOKING;
+        }
+        if (path.startsWith("/users/import")) {
+            // long-running by design and bounded by its own hashing pool
+            return null;
+        }
+        if (path.startsWith("/users") || (!read && (path.startsWith("/providers") || path.startsWith("/aboutus")))) {
+            return ADMIN;
+        }
+        return null;
+    }
+}
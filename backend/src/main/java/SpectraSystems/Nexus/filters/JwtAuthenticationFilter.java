@@ -2,6 +2,7 @@ package SpectraSystems.Nexus.filters;
 
 import java.io.IOException;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -10,8 +11,12 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import SpectraSystems.Nexus.models.User;
+import SpectraSystems.Nexus.services.CredentialVersionRegistry;
 import SpectraSystems.Nexus.services.JwtService;
+import SpectraSystems.Nexus.services.TokenRevocationService;
 import SpectraSystems.Nexus.services.UserService;
+import io.jsonwebtoken.JwtException;
 import io.micrometer.common.lang.NonNull;
 import org.apache.commons.lang3.StringUtils;
 import jakarta.servlet.FilterChain;
@@ -26,8 +31,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final UserService userService;
 
-    
-    /** 
+    @Autowired(required = false)
+    private CredentialVersionRegistry credentialVersionRegistry;
+
+    @Autowired(required = false)
+    private TokenRevocationService tokenRevocationService;
+
+
+    /**
      * @param request
      * @param response
      * @param filterChain
@@ -45,6 +56,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
         final String jwt = authHeader.substring(7);
+        if (tokenRevocationService != null && tokenRevocationService.isRevoked(jwt)) {
+            // Logged out: continue unauthenticated
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (authenticateFromClaims(jwt, request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
         final String userEmail = jwtService.extractUserName(jwt);
 
         if (StringUtils.isNotEmpty(userEmail)
@@ -53,16 +73,56 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             UserDetails userDetails = userService.userDetailsService()
                                                 .loadUserByUsername(userEmail);
             if (jwtService.isTokenValid(jwt, userDetails)) {
-                SecurityContext context = SecurityContextHolder.createEmptyContext();
-                UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails, null, userDetails.getAuthorities());
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                context.setAuthentication(authToken);
-                SecurityContextHolder.setContext(context);
+                authenticate(userDetails, request);
             }
         }
         // Always continue the filter chain
         filterChain.doFilter(request, response);
     }
+
+
+    /**
+     * Stateless mode: builds the principal from the signed claims, checked only
+     * against the user's credential version.
+     *
+     * @param jwt
+     * @param request
+     * @return 'boolean' false when the database path must handle the token
+     */
+    private boolean authenticateFromClaims(String jwt, HttpServletRequest request) {
+        if (!jwtService.isStatelessEnabled() || credentialVersionRegistry == null) {
+            return false;
+        }
+        User principal;
+        try {
+            principal = jwtService.userFromClaims(jwtService.verifyToken(jwt));
+        } catch (JwtException | IllegalArgumentException e) {
+            // expired, malformed or bad signature: continue unauthenticated
+            return true;
+        }
+        if (principal == null || !credentialVersionRegistry.isKnown(principal.getId())) {
+            // issued before the claims were added, or a deleted user: the database decides
+            return false;
+        }
+        if (SecurityContextHolder.getContext().getAuthentication() == null
+                && credentialVersionRegistry.isCurrent(principal.getId(), principal.getCredentialVersion())) {
+            authenticate(principal, request);
+        }
+        return true;
+    }
+
+
+    /**
+     * @param userDetails
+     * @param request
+     */
+    private void authenticate(UserDetails userDetails, HttpServletRequest request) {
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        UsernamePasswordAuthenticationToken authToken =
+                new UsernamePasswordAuthenticationToken(
+                        userDetails, null, userDetails.getAuthorities());
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        context.setAuthentication(authToken);
+        SecurityContextHolder.setContext(context);
+    }
 }
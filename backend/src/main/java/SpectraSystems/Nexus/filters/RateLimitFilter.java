@@ -0,0 +1,121 @@
+package SpectraSystems.Nexus.filters;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import SpectraSystems.Nexus.models.User;
+import io.micrometer.common.lang.NonNull;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Per-client token buckets on the configured routes, keyed by the authenticated user
+ * id or else the client IP. Runs right after the security filters, so the user is
+ * known and throttled requests never reach a controller or a provider.
+ * Registered by RateLimitConfig rather than as a component.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final byte[] THROTTLED_BODY =
+            "{\"error\":\"Too many requests, please slow down.\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final List<Route> routes;
+    private final TokenBucketStore buckets;
+    private final Map<String, Counter> throttled = new HashMap<>();
+    private final AntPathMatcher matcher = new AntPathMatcher();
+
+    public RateLimitFilter(List<Route> routes, TokenBucketStore buckets, MeterRegistry meterRegistry) {
+        this.routes = List.copyOf(routes);
+        this.buckets = buckets;
+        for (Route route : this.routes) {
+            throttled.put(route.name(), Counter.builder("nexus.ratelimit.throttled")
+                    .description("Requests answered 429 because the client's bucket was empty")
+                    .tag("route", route.name())
+                    .register(meterRegistry));
+        }
+        Gauge.builder("nexus.ratelimit.buckets", buckets, TokenBucketStore::size)
+                .description("Client buckets held in memory")
+                .register(meterRegistry);
+    }
+
+
+    /**
+     * @param request
+     * @param response
+     * @param filterChain
+     * @throws ServletException
+     * @throws IOException
+     */
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        Route route = route(request);
+        if (route != null) {
+            long waitMs = buckets.tryConsume(route.name() + '|' + client(request), route.limit(), System.currentTimeMillis());
+            if (waitMs > 0) {
+                throttled.get(route.name()).increment();
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader("Retry-After", Long.toString((waitMs + 999) / 1000));
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.getOutputStream().write(THROTTLED_BODY);
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private Route route(HttpServletRequest request) {
+        String path = RequestPaths.withinApplication(request);
+        for (Route route : routes) {
+            if (route.method() != null && !route.method().equalsIgnoreCase(request.getMethod())) {
+                continue;
+            }
+            for (String pattern : route.patterns()) {
+                if (matcher.match(pattern, path)) {
+                    return route;
+                }
+            }
+        }
+        return null;
+    }
+
+    
+    /** 
+     * @param request
+     * @return 'String' user:{id} when authenticated, ip:{address} otherwise
+     */
+    static String client(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User user && user.getId() != null) {
+            return "user:" + user.getId();
+        }
+        // Behind the ingress this is the forwarded client address (server.forward-headers-strategy)
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    
+    /** 
+     * @param name metric tag and bucket namespace
+     * @param method HTTP method, null for any
+     * @param patterns Ant patterns below the context path
+     * @param limit
+     */
+    public record Route(String name, String method, List<String> patterns, TokenBucketStore.Limit limit) {
+    }
+}
@@ -0,0 +1,26 @@
+package SpectraSystems.Nexus.filters;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+final class RequestPaths {
+
+    private static final String PUBLIC_PREFIX = "/nexus";
+
+    private RequestPaths() {
+    }
+
+    
+    /** 
+     * Same forms as SecurityConfig accepts: with or without the /nexus prefix.
+     *
+     * @param request
+     * @return 'String' the path below the context path and the /nexus prefix
+     */
+    static String withinApplication(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.equals(PUBLIC_PREFIX) || path.startsWith(PUBLIC_PREFIX + "/")) {
+            path = path.substring(PUBLIC_PREFIX.length());
+        }
+        return path;
+    }
+}
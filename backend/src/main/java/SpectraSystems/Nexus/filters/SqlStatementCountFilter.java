@@ -0,0 +1,60 @@
+package SpectraSystems.Nexus.filters;
+
+import java.io.IOException;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import SpectraSystems.Nexus.config.InstrumentedDataSource;
+import io.micrometer.common.lang.NonNull;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Records how many JDBC statements each request issued, per route, so N+1
+ * patterns show up as a distribution instead of only as latency.
+ * Registered by SqlMetricsConfig rather than as a component.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+
+    public static final String SUMMARY_NAME = "nexus.sql.statements.per.request";
+
+    private final MeterRegistry meterRegistry;
+
+
+    /**
+     * @param request
+     * @param response
+     * @param filterChain
+     * @throws ServletException
+     * @throws IOException
+     */
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        InstrumentedDataSource.resetStatementCount();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int statements = InstrumentedDataSource.statementCount();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            DistributionSummary.builder(SUMMARY_NAME)
+                    .description("JDBC statements executed while serving one request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(statements);
+            log.debug("{} {} executed {} SQL statements", request.getMethod(), uri, statements);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package SpectraSystems.Nexus.filters;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets keyed by client, refilled lazily on access. Each bucket is a single
+ * AtomicLong (last refill time and milli-tokens packed together) updated by CAS, so
+ * the hot path takes no lock. Keys are spread over stripes; a stripe that outgrows
+ * its share of maxBuckets drops its idle buckets, which are full and therefore the
+ * same as a bucket created on the next request. When none is idle, the least recently
+ * refilled buckets go first.
+ */
+public class TokenBucketStore {
+
+    // state = (millis since epoch of this store) << TOKEN_BITS | milli-tokens
+    private static final int TOKEN_BITS = 24;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long MILLI = 1000;
+
+    private final ConcurrentHashMap<String, Bucket>[] stripes;
+    private final int maxPerStripe;
+    private final long epochMs;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public TokenBucketStore(int stripeCount, int maxBuckets) {
+        int count = stripeCount <= 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        this.stripes = new ConcurrentHashMap[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+        this.maxPerStripe = Math.max(1, maxBuckets / count);
+        this.epochMs = System.currentTimeMillis();
+    }
+
+    
+    /** 
+     * @param key route and client
+     * @param limit
+     * @param nowMs
+     * @return 'long' 0 when a token was taken, otherwise milliseconds until the next token
+     */
+    public long tryConsume(String key, Limit limit, long nowMs) {
+        long now = nowMs - epochMs;
+        ConcurrentHashMap<String, Bucket> stripe = stripes[spread(key.hashCode()) & (stripes.length - 1)];
+        Bucket bucket = stripe.get(key);
+        if (bucket == null) {
+            Bucket created = new Bucket(limit, pack(now, limit.capacityMilli()));
+            bucket = stripe.putIfAbsent(key, created);
+            if (bucket == null) {
+                bucket = created;
+                if (stripe.size() > maxPerStripe) {
+                    evictIdle(stripe, created, now);
+                }
+            }
+        }
+        return bucket.tryConsume(now);
+    }
+
+    
+    /** 
+     * @return 'int' buckets currently held
+     */
+    public int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, Bucket> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private void evictIdle(ConcurrentHashMap<String, Bucket> stripe, Bucket keep, long now) {
+        stripe.values().removeIf(bucket -> bucket != keep && bucket.isIdle(now));
+        int excess = stripe.size() - maxPerStripe;
+        if (excess > 0) {
+            // Every bucket is in use: drop the least recently refilled ones, plus some headroom
+            // so that the next new client does not sort the stripe again
+            List<Map.Entry<String, Bucket>> oldestFirst = new ArrayList<>(stripe.entrySet());
+            oldestFirst.sort(Comparator.comparingLong(entry -> entry.getValue().lastRefill()));
+            int toRemove = excess + maxPerStripe / 4;
+            for (Map.Entry<String, Bucket> entry : oldestFirst) {
+                if (toRemove == 0) {
+                    break;
+                }
+                if (entry.getValue() != keep && stripe.remove(entry.getKey(), entry.getValue())) {
+                    toRemove--;
+                }
+            }
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static long pack(long timeMs, long milliTokens) {
+        return (timeMs << TOKEN_BITS) | milliTokens;
+    }
+
+    
+    /** 
+     * @param capacity burst size, in requests (at most 16000)
+     * @param refillPerSecond sustained rate, in requests per second
+     */
+    public record Limit(long capacity, double refillPerSecond) {
+
+        public Limit {
+            if (capacity < 1 || capacity * MILLI > TOKEN_MASK) {
+                throw new IllegalArgumentException("Bucket capacity must be between 1 and " + TOKEN_MASK / MILLI);
+            }
+            if (refillPerSecond <= 0) {
+                throw new IllegalArgumentException("Refill rate must be positive");
+            }
+        }
+
+        long capacityMilli() {
+            return capacity * MILLI;
+        }
+
+        // milli-tokens gained per millisecond
+        double milliPerMs() {
+            return refillPerSecond;
+        }
+    }
+
+    private static final class Bucket {
+        private final Limit limit;
+        private final AtomicLong state;
+
+        Bucket(Limit limit, long state) {
+            this.limit = limit;
+            this.state = new AtomicLong(state);
+        }
+
+        long tryConsume(long now) {
+            while (true) {
+                long current = state.get();
+                long last = current >>> TOKEN_BITS;
+                long tokens = current & TOKEN_MASK;
+                long elapsed = Math.max(0, now - last);
+                long gained = (long) (elapsed * limit.milliPerMs());
+                long refilled = Math.min(limit.capacityMilli(), tokens + gained);
+                long refilledAt;
+                if (refilled == limit.capacityMilli()) {
+                    refilledAt = Math.max(now, last);
+                } else {
+                    // keep the fraction of a milli-token not credited yet
+                    refilledAt = gained == 0 ? last : last + (long) (gained / limit.milliPerMs());
+                }
+                if (refilled < MILLI) {
+                    return Math.max(1, (long) Math.ceil((MILLI - refilled) / limit.milliPerMs()));
+                }
+                if (state.compareAndSet(current, pack(refilledAt, refilled - MILLI))) {
+                    return 0;
+                }
+            }
+        }
+
+        long lastRefill() {
+            return state.get() >>> TOKEN_BITS;
+        }
+
+        boolean isIdle(long now) {
+            long current = state.get();
+            long last = current >>> TOKEN_BITS;
+            long missing = limit.capacityMilli() - (current & TOKEN_MASK);
+            return (now - last) * limit.milliPerMs() >= missing;
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package SpectraSystems.Nexus.models;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -11,6 +15,8 @@ import lombok.Builder;
 @Entity
 @Builder
 @Table(name = "ABOUTUS")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "aboutus")
 public class Aboutus {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -9,16 +9,23 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
-import jakarta.persistence.OneToMany;
 import jakarta.persistence.Temporal;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.TemporalType;
+import jakarta.persistence.Transient;
 
 @Entity
-@Table(name = "COMMENTS")
+@Table(name = "COMMENTS", indexes = {
+    // A flight's whole thread is one ordered range scan on this index
+    @Index(name = "IDX_COMMENTS_FLIGHT_PATH", columnList = "FLIGHT_ID, PATH"),
+    // Keyset feed of top-level comments and the batched reply lookup
+    @Index(name = "IDX_COMMENTS_FLIGHT_FEED", columnList = "FLIGHT_ID, PARENT_COMMENT_ID, CREATION_DATE, COMMENT_ID"),
+    @Index(name = "IDX_COMMENTS_PARENT", columnList = "PARENT_COMMENT_ID, CREATION_DATE, COMMENT_ID")
+})
 public class Comment {
 
      @Id
@@ -32,11 +39,15 @@ public class Comment {
     @Column(name = "CONTENT", nullable = false, length = 1000)
     private String content;
 
+    // Date and time: the feed orders on (CREATION_DATE, COMMENT_ID). An existing Oracle DATE
+    // column keeps whole seconds, so comments of the same second fall back to id order
     @Column(name = "CREATION_DATE", nullable = false)
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
-    @Temporal(TemporalType.DATE)
+    @Temporal(TemporalType.TIMESTAMP)
     private Date creationDate;
 
+    // Materialized path: the parent's path plus this id zero-padded, e.g. /0000000012/0000000040/.
+    // Rows written before paths were maintained hold "/"
     @Column(name = "PATH", nullable = false, length = 500)
     private String path;
 
@@ -49,7 +60,8 @@ public class Comment {
     @Column(name = "USER_NAME")
     private String userName;
 
-    @OneToMany(mappedBy = "parentComment")
+    // Filled in memory from the flight's thread (see CommentService), never lazily loaded
+    @Transient
     private List<Comment> children;
 
     // Constructors, getters, setters, and other methods...
@@ -5,6 +5,8 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
+import org.hibernate.annotations.BatchSize;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
@@ -13,6 +15,8 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.Temporal;
 import jakarta.persistence.TemporalType;
 
@@ -22,8 +26,12 @@ import lombok.Builder.Default;
 @Entity
 @Builder
 @Table(name = "FLIGHT")
+@NamedEntityGraph(name = Flight.WITH_TICKETS, attributeNodes = @NamedAttributeNode("tickets"))
 public class Flight {
 
+    // Fetch plan for lists serialized with their tickets
+    public static final String WITH_TICKETS = "Flight.withTickets";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -48,8 +56,10 @@ public class Flight {
     private Date returnDate;
 
     // Own the relation with a FK in TicketPurchase (flight_id)
+    // Loaded without the entity graph: initialized for up to 50 flights of the session at once
     @OneToMany
     @JoinColumn(name = "flight_id")
+    @BatchSize(size = 50)
     @Default
     private List<TicketPurchase> tickets = new ArrayList<>();
 
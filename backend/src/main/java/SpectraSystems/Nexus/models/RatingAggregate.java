@@ -0,0 +1,98 @@
+package SpectraSystems.Nexus.models;
+
+import java.io.Serializable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Running totals per rated target, maintained by deltas in the same transaction
+ * as the comment or rating write, so reads never aggregate the source rows.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "NEXUS_RATING_AGGREGATE")
+public class RatingAggregate {
+
+    public enum Target {
+        // keyed by flightTargetId: the provider's flight id (Comment.flightId, Flight.flightNumber)
+        FLIGHT,
+        // keyed by Reservation.hotelId
+        HOTEL
+    }
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(nullable = false)
+    private long ratingCount;
+
+    @Column(nullable = false)
+    private long ratingSum;
+
+    @Column(nullable = false)
+    private long commentCount;
+
+    public RatingAggregate(Key id) {
+        this.id = id;
+    }
+
+
+    /**
+     * @return 'Rating' the average and count exposed to clients
+     */
+    public Rating toRating() {
+        return new Rating(ratingCount == 0 ? 0 : (double) ratingSum / ratingCount, (int) ratingCount);
+    }
+
+
+    /**
+     * @param flightId the provider's flight id, as comments and search results carry it
+     * @return 'String' the FLIGHT target id, null without an id
+     */
+    public static String flightTargetId(Long flightId) {
+        return flightId == null ? null : Long.toString(flightId);
+    }
+
+
+    /**
+     * Flight.flightNumber holds the provider's flight id as text; it maps to the same
+     * target as the numeric id, e.g. "0812" and 812 both to "812".
+     *
+     * @param flightNumber
+     * @return 'String' the FLIGHT target id, null when flightNumber is not a provider flight id
+     */
+    public static String flightTargetId(String flightNumber) {
+        if (flightNumber == null) {
+            return null;
+        }
+        try {
+            return flightTargetId(Long.valueOf(flightNumber.trim()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Embeddable
+    public static class Key implements Serializable {
+        @Enumerated(EnumType.STRING)
+        @Column(name = "TARGET_TYPE", length = 16)
+        private Target targetType;
+
+        @Column(name = "TARGET_ID", length = 64)
+        private String targetId;
+    }
+}
@@ -0,0 +1,35 @@
+package SpectraSystems.Nexus.models;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "NEXUS_REVOKED_TOKEN", indexes = {
+    @Index(name = "IDX_REVOKED_TOKEN_REVOKED_AT", columnList = "revokedAt"),
+    @Index(name = "IDX_REVOKED_TOKEN_EXPIRES_AT", columnList = "expiresAt")
+})
+public class RevokedToken {
+
+    // SHA-256 of the raw JWT (url-safe base64), the token itself is never stored
+    @Id
+    @Column(length = 43)
+    private String tokenDigest;
+
+    // Rows are purged once the token would have expired anyway
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    @Column(nullable = false)
+    private Instant revokedAt;
+}
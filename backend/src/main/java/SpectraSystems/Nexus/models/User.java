@@ -8,6 +8,9 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -44,6 +47,8 @@ public class User implements UserDetails{
 
     private Integer age;
 
+    // Accepted on create and update, never written back: GET /users must not leak the hash
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     @Column(nullable = false)
     private String password;
 
@@ -60,6 +65,10 @@ public class User implements UserDetails{
     LocalDateTime createdAt;
 
     LocalDateTime updatedAt;
+
+    // Bumped whenever issued tokens must stop being accepted (e.g. role change)
+    @JsonIgnore
+    private Long credentialVersion;
     // Getters, setters, constructors, and other methods...
 
     public User(){
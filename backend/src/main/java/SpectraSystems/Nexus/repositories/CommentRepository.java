@@ -1,12 +1,52 @@
 package SpectraSystems.Nexus.repositories;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import SpectraSystems.Nexus.models.Comment;
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findByFlightId(Long flightId);
+
+    // Parents sort before their replies, siblings by id. Legacy rows with path "/" come first,
+    // in id order; their replies are linked by PARENT_COMMENT_ID, not by position
+    List<Comment> findByFlightIdOrderByPathAscIdAsc(Long flightId);
+
+    // Keyset pages of top-level comments on (CREATION_DATE, COMMENT_ID); the Pageable only carries the limit
+    @Query("select c from Comment c where c.flightId = :flightId and c.parentComment is null"
+            + " order by c.creationDate asc, c.id asc")
+    List<Comment> findTopLevelPage(@Param("flightId") Long flightId, Pageable limit);
+
+    @Query("select c from Comment c where c.flightId = :flightId and c.parentComment is null"
+            + " and (c.creationDate > :creationDate or (c.creationDate = :creationDate and c.id > :id))"
+            + " order by c.creationDate asc, c.id asc")
+    List<Comment> findTopLevelPageAfter(@Param("flightId") Long flightId,
+                                        @Param("creationDate") Date creationDate,
+                                        @Param("id") Long id,
+                                        Pageable limit);
+
+    // The first :perFlight top-level comments of each flight of a search page, ranked in one query
+    @Query("select c from Comment c where c.id in (select r.id from ("
+            + "select c2.id as id, row_number() over (partition by c2.flightId"
+            + " order by c2.creationDate asc, c2.id asc) as rn"
+            + " from Comment c2 where c2.flightId in :flightIds and c2.parentComment is null) r where r.rn <= :perFlight)"
+            + " order by c.creationDate asc, c.id asc")
+    List<Comment> findFirstTopLevelPerFlight(@Param("flightIds") Collection<Long> flightIds,
+                                             @Param("perFlight") int perFlight);
+
+    // The first :perParent direct replies of each parent, ranked on (PARENT_COMMENT_ID, CREATION_DATE, COMMENT_ID)
+    @Query("select c from Comment c where c.id in (select r.id from ("
+            + "select c2.id as id, row_number() over (partition by c2.parentComment"
+            + " order by c2.creationDate asc, c2.id asc) as rn"
+            + " from Comment c2 where c2.parentComment in :parentIds) r where r.rn <= :perParent)"
+            + " order by c.creationDate asc, c.id asc")
+    List<Comment> findFirstRepliesPerParent(@Param("parentIds") Collection<Long> parentIds,
+                                            @Param("perParent") int perParent);
 }
 
@@ -1,7 +1,9 @@
 package SpectraSystems.Nexus.repositories;
 import java.util.List;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import SpectraSystems.Nexus.models.Flight;
@@ -11,5 +13,13 @@ public interface FlightRepository extends JpaRepository<Flight, Long> {
     List<Flight> findByUserid(Long userId);
     List<Flight> findAllByFlightNumber(String flightNumber);
     List<Flight> findByBundle(String bundle);
+
+    // Same rows with Flight.tickets joined in, for lists that are serialized
+    @EntityGraph(Flight.WITH_TICKETS)
+    List<Flight> findWithTicketsByUserid(Long userId);
+
+    @EntityGraph(Flight.WITH_TICKETS)
+    @Query("select f from Flight f")
+    List<Flight> findAllWithTickets();
 }
 
@@ -0,0 +1,61 @@
+package SpectraSystems.Nexus.repositories;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import SpectraSystems.Nexus.models.RatingAggregate;
+
+@Repository
+public interface RatingAggregateRepository extends JpaRepository<RatingAggregate, RatingAggregate.Key>,
+        RatingAggregateSeedRepository {
+
+    // Applied in the database so concurrent writers never lose an increment; counts never drop below zero
+    @Modifying(flushAutomatically = true)
+    @Query("update RatingAggregate a set"
+            + " a.ratingCount = case when a.ratingCount + :ratingCount < 0 then 0 else a.ratingCount + :ratingCount end,"
+            + " a.ratingSum = case when a.ratingSum + :ratingSum < 0 then 0 else a.ratingSum + :ratingSum end,"
+            + " a.commentCount = case when a.commentCount + :commentCount < 0 then 0 else a.commentCount + :commentCount end"
+            + " where a.id = :id")
+    int applyDelta(@Param("id") RatingAggregate.Key id,
+                   @Param("ratingCount") long ratingCount,
+                   @Param("ratingSum") long ratingSum,
+                   @Param("commentCount") long commentCount);
+
+    List<RatingAggregate> findByIdTargetTypeAndIdTargetIdIn(RatingAggregate.Target targetType, Collection<String> targetIds);
+
+    // Source totals a target's row is seeded with when it is created
+    @Query("select count(c) from Comment c where c.flightId = :flightId")
+    long countFlightComments(@Param("flightId") Long flightId);
+
+    @Query("select count(f.rating) as ratingCount, coalesce(sum(f.rating), 0) as ratingSum"
+            + " from Flight f where f.flightNumber = :flightNumber")
+    RatingTotals findFlightRatingTotals(@Param("flightNumber") String flightNumber);
+
+    @Query("select count(r.rating) as ratingCount, coalesce(sum(r.rating), 0) as ratingSum"
+            + " from Reservation r where r.hotelId = :hotelId")
+    RatingTotals findHotelRatingTotals(@Param("hotelId") String hotelId);
+
+    // Targets commented or rated before they had a row
+    @Query("select distinct str(c.flightId) from Comment c where c.flightId is not null and not exists"
+            + " (select a from RatingAggregate a where a.id.targetType = :target and a.id.targetId = str(c.flightId))")
+    List<String> findUnseededCommentedFlights(@Param("target") RatingAggregate.Target target);
+
+    @Query("select distinct f.flightNumber from Flight f where f.rating is not null and f.flightNumber is not null"
+            + " and not exists (select a from RatingAggregate a where a.id.targetType = :target and a.id.targetId = f.flightNumber)")
+    List<String> findUnseededRatedFlights(@Param("target") RatingAggregate.Target target);
+
+    @Query("select distinct r.hotelId from Reservation r where r.rating is not null and r.hotelId is not null"
+            + " and not exists (select a from RatingAggregate a where a.id.targetType = :target and a.id.targetId = r.hotelId)")
+    List<String> findUnseededRatedHotels(@Param("target") RatingAggregate.Target target);
+
+    interface RatingTotals {
+        long getRatingCount();
+
+        long getRatingSum();
+    }
+}
@@ -0,0 +1,12 @@
+package SpectraSystems.Nexus.repositories;
+
+import SpectraSystems.Nexus.models.RatingAggregate;
+
+public interface RatingAggregateSeedRepository {
+
+    /**
+     * @param aggregate the seeded row
+     * @return 'boolean' false when the target already had a row
+     */
+    boolean insertIfAbsent(RatingAggregate aggregate);
+}
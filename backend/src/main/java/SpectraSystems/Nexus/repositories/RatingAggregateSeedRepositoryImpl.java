@@ -0,0 +1,67 @@
+package SpectraSystems.Nexus.repositories;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import SpectraSystems.Nexus.models.RatingAggregate;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Spring Data fragment: one conditional insert on the caller's connection. A key clash
+ * with a concurrent seeder fails only this statement; the same failure through the
+ * EntityManager would mark the caller's transaction for rollback.
+ */
+public class RatingAggregateSeedRepositoryImpl implements RatingAggregateSeedRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    // Table and column names as mapped, so the naming strategy of the profile applies
+    private volatile String insertSql;
+
+    public RatingAggregateSeedRepositoryImpl(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+
+    /**
+     * @param aggregate
+     * @return 'boolean'
+     */
+    @Override
+    public boolean insertIfAbsent(RatingAggregate aggregate) {
+        String targetType = aggregate.getId().getTargetType().name();
+        String targetId = aggregate.getId().getTargetId();
+        try {
+            return jdbcTemplate.update(insertSql(), targetType, targetId, aggregate.getRatingCount(),
+                    aggregate.getRatingSum(), aggregate.getCommentCount(), targetType, targetId) == 1;
+        } catch (DataIntegrityViolationException e) {
+            // Inserted by a concurrent seeder after the not exists check
+            return false;
+        }
+    }
+
+    private String insertSql() {
+        String sql = insertSql;
+        if (sql == null) {
+            AbstractEntityPersister persister = (AbstractEntityPersister) entityManagerFactory
+                    .unwrap(SessionFactoryImplementor.class)
+                    .getMappingMetamodel()
+                    .getEntityDescriptor(RatingAggregate.class);
+            String table = persister.getTableName();
+            String targetType = persister.getPropertyColumnNames("id.targetType")[0];
+            String targetId = persister.getPropertyColumnNames("id.targetId")[0];
+            sql = "insert into " + table + " (" + targetType + ", " + targetId + ", "
+                    + persister.getPropertyColumnNames("ratingCount")[0] + ", "
+                    + persister.getPropertyColumnNames("ratingSum")[0] + ", "
+                    + persister.getPropertyColumnNames("commentCount")[0] + ")"
+                    + " select ?, ?, ?, ?, ? from dual where not exists"
+                    + " (select 1 from " + table + " where " + targetType + " = ? and " + targetId + " = ?)";
+            insertSql = sql;
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,27 @@
+package SpectraSystems.Nexus.repositories;
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import SpectraSystems.Nexus.models.RevokedToken;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    @Query("select r.tokenDigest from RevokedToken r where r.expiresAt > :now")
+    List<String> findLiveDigests(@Param("now") Instant now);
+
+    @Query("select r.tokenDigest from RevokedToken r where r.revokedAt >= :since and r.expiresAt > :now")
+    List<String> findDigestsRevokedSince(@Param("since") Instant since, @Param("now") Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("delete from RevokedToken r where r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
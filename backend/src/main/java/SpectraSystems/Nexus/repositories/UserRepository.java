@@ -1,13 +1,39 @@
 package SpectraSystems.Nexus.repositories;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import SpectraSystems.Nexus.dto.UserSummary;
 import SpectraSystems.Nexus.models.User;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    // Not cached: login and database-path token checks must see another pod's password,
+    // role or deletion change at once
     Optional<User> findByEmail(String email);
+
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // Empty for a deleted user; users never bumped report 0
+    @Query("select coalesce(u.credentialVersion, 0) from User u where u.id = :id")
+    Optional<Long> findCredentialVersionById(@Param("id") Long id);
+
+    @Query(value = "select new SpectraSystems.Nexus.dto.UserSummary(u.id, u.first_Name, u.last_Name, u.email, u.role) from User u",
+           countQuery = "select count(u) from User u")
+    Page<UserSummary> findSummaries(Pageable pageable);
+
+    @Query("select new SpectraSystems.Nexus.dto.UserSummary(u.id, u.first_Name, u.last_Name, u.email, u.role) from User u where u.id = :id")
+    Optional<UserSummary> findSummaryById(@Param("id") Long id);
+
+    @Query("select u.email from User u where u.id = :id")
+    Optional<String> findEmailById(@Param("id") Long id);
 }
@@ -1,9 +1,22 @@
 package SpectraSystems.Nexus.services;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
+import SpectraSystems.Nexus.dto.CachedJson;
 import SpectraSystems.Nexus.exceptions.ResourceNotFoundException;
 import SpectraSystems.Nexus.models.Aboutus;
 import SpectraSystems.Nexus.repositories.AboutusRespository;
@@ -11,10 +24,16 @@ import SpectraSystems.Nexus.repositories.AboutusRespository;
 @Service
 public class AboutUsService {
     private final AboutusRespository aboutUsRepository;
+    private final ObjectMapper objectMapper;
+
+    // Serialized GET /aboutus/{id} bodies; an entry is only valid for the generation it was built in
+    private final Map<Long, CachedEntry> serializedCache = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
 
     @Autowired
-    public AboutUsService(AboutusRespository aboutUsRepository) {
+    public AboutUsService(AboutusRespository aboutUsRepository, ObjectMapper objectMapper) {
         this.aboutUsRepository = aboutUsRepository;
+        this.objectMapper = objectMapper;
     }
 
     
@@ -23,7 +42,34 @@ public class AboutUsService {
      * @return 'Aboutus'
      */
     public Aboutus saveOrUpdate(Aboutus aboutUsEntity) {
-        return aboutUsRepository.save(aboutUsEntity);
+        Aboutus saved = aboutUsRepository.save(aboutUsEntity);
+        invalidate();
+        return saved;
+    }
+
+    
+    /** 
+     * Served from memory after the first read; writes on this pod invalidate every entry
+     * at once, writes on other pods are picked up at the next periodic expiry.
+     *
+     * @param id
+     * @return 'Optional<CachedJson>' the serialized entity and its ETag
+     */
+    public Optional<CachedJson> findSerializedById(Long id) {
+        long current = generation.get();
+        CachedEntry entry = serializedCache.get(id);
+        if (entry != null && entry.generation() == current) {
+            return Optional.of(entry.json());
+        }
+        Optional<Aboutus> aboutUs = aboutUsRepository.findById(id);
+        if (aboutUs.isEmpty()) {
+            return Optional.empty();
+        }
+        CachedJson json = serialize(aboutUs.get());
+        // Tagged with the generation read before the load: if a write landed meanwhile
+        // the entry is already stale and the next read reloads it
+        serializedCache.put(id, new CachedEntry(current, json));
+        return Optional.of(json);
     }
 
     
@@ -39,6 +85,7 @@ public class AboutUsService {
     /** 
      * @return 'List<Aboutus>'
      */
+    @Transactional(readOnly = true)
     public List<Aboutus> findAll() {
         return aboutUsRepository.findAll();
     }
@@ -49,6 +96,7 @@ public class AboutUsService {
      */
     public void deleteById(Long id) {
         aboutUsRepository.deleteById(id);
+        invalidate();
     }
     
     
@@ -79,6 +127,36 @@ public class AboutUsService {
         aboutUs.setTextFour(aboutUsDetails.getTextFour());
         aboutUs.setImgFour(aboutUsDetails.getImgFour());
 
-        return aboutUsRepository.save(aboutUs);
+        Aboutus saved = aboutUsRepository.save(aboutUs);
+        invalidate();
+        return saved;
+    }
+
+    
+    /** 
+     * Drops every entry, so changes written by other replicas are served after at most one period.
+     */
+    @Scheduled(fixedDelayString = "${aboutus.cache.refresh-ms:60000}",
+               initialDelayString = "${aboutus.cache.refresh-ms:60000}")
+    public void expire() {
+        invalidate();
+    }
+
+    private void invalidate() {
+        generation.incrementAndGet();
+        serializedCache.clear();
+    }
+
+    private CachedJson serialize(Aboutus aboutUs) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(aboutUs);
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(body);
+            return new CachedJson(body, "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash) + "\"");
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not serialize AboutUs " + aboutUs.getId(), e);
+        }
+    }
+
+    private record CachedEntry(long generation, CachedJson json) {
     }
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+package SpectraSystems.Nexus.services;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over token digests. Never answers "absent" for a digest that was
+ * added; may answer "present" for one that was not, at roughly the configured rate.
+ * Adds and probes are lock-free, so the sync thread can add while requests probe.
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final int expectedInsertions;
+
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        this.expectedInsertions = Math.max(1, expectedInsertions);
+        double p = Math.min(Math.max(falsePositiveRate, 1e-9), 0.5);
+        long bits = (long) Math.ceil(-this.expectedInsertions * Math.log(p) / (Math.log(2) * Math.log(2)));
+        bits = Math.max(64, bits);
+        this.words = new AtomicLongArray(Math.toIntExact((bits + 63) / 64));
+        this.bitCount = (long) words.length() * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / this.expectedInsertions * Math.log(2)));
+    }
+
+
+    /**
+     * @param digest a {@link VerifiedTokenCache#digest(String)} value
+     */
+    public void put(String digest) {
+        long[] h = hashes(digest);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = index(h, i);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = words.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!words.compareAndSet(word, current, current | mask));
+        }
+    }
+
+
+    /**
+     * @param digest
+     * @return 'boolean' false when the digest was definitely never added
+     */
+    public boolean mightContain(String digest) {
+        long[] h = hashes(digest);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = index(h, i);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    /**
+     * @return 'int' the number of insertions the filter was sized for
+     */
+    public int expectedInsertions() {
+        return expectedInsertions;
+    }
+
+    private long index(long[] h, int i) {
+        // Kirsch-Mitzenmacher double hashing
+        return Math.floorMod(h[0] + i * h[1], bitCount);
+    }
+
+    // The digest already is a SHA-256 hash, so its bytes are used directly as two 64-bit hashes
+    private static long[] hashes(String digest) {
+        byte[] bytes = Base64.getUrlDecoder().decode(digest);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new long[] { buffer.getLong(), buffer.getLong() | 1L };
+    }
+}
@@ -1,25 +1,43 @@
 package SpectraSystems.Nexus.services;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import SpectraSystems.Nexus.dto.CommentPage;
+import SpectraSystems.Nexus.exceptions.BadRequestException;
 import SpectraSystems.Nexus.models.Comment;
+import SpectraSystems.Nexus.models.RatingAggregate;
 import SpectraSystems.Nexus.repositories.CommentRepository;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 public class CommentService {
+    static final int MAX_PAGE_SIZE = 100;
+    static final int MAX_REPLIES = 20;
+
     private final CommentRepository commentRepository;
+    private final RatingAggregateService ratingAggregateService;
     
     @Autowired
-    public CommentService(CommentRepository commentRepository) {
+    public CommentService(CommentRepository commentRepository, RatingAggregateService ratingAggregateService) {
         this.commentRepository = commentRepository;
+        this.ratingAggregateService = ratingAggregateService;
     }
 
     
     /** 
      * @return 'List<Comment>'
      */
+    @Transactional(readOnly = true)
     public List<Comment> getAllComments() {
         return commentRepository.findAll();
     }
@@ -30,11 +48,79 @@ public class CommentService {
      * @param flightId
      * @return 'List<Comment>'
      */
+    @Transactional(readOnly = true)
     public List<Comment> getCommentsByFlightId(Long flightId) {
-        return commentRepository.findByFlightId(flightId);
+        List<Comment> comments = commentRepository.findByFlightId(flightId);
+        assembleThread(comments);
+        return comments;
+    }
+
+
+    /** 
+     * The flight's whole thread from one ordered query on (FLIGHT_ID, PATH).
+     *
+     * @param flightId
+     * @return 'List<Comment>' the top-level comments, replies nested in children
+     */
+    @Transactional(readOnly = true)
+    public List<Comment> getCommentTree(Long flightId) {
+        return assembleThread(commentRepository.findByFlightIdOrderByPathAscIdAsc(flightId));
     }
 
     
+
+    /** 
+     * Comments for every flight of a result set: the first top-level comments of each
+     * flight in one query, their direct replies in a second one, both limited in SQL.
+     *
+     * @param flightIds
+     * @param perFlight top-level comments kept per flight, each with its first replies
+     * @return 'Map<Long, List<Comment>>' by flight id; flights without comments are absent
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, List<Comment>> getCommentsByFlightIds(Collection<Long> flightIds, int perFlight) {
+        Map<Long, List<Comment>> byFlight = new HashMap<>();
+        if (flightIds == null || flightIds.isEmpty() || perFlight <= 0) {
+            return byFlight;
+        }
+        List<Comment> roots = commentRepository.findFirstTopLevelPerFlight(flightIds, perFlight);
+        attachReplies(roots, MAX_REPLIES);
+        for (Comment root : roots) {
+            byFlight.computeIfAbsent(root.getFlightId(), id -> new ArrayList<>()).add(root);
+        }
+        return byFlight;
+    }
+
+
+    /** 
+     * One keyset page of a flight's top-level comments, ordered by (creationDate, id).
+     * Comments stored while the column only kept the day sort by id within that day.
+     *
+     * @param flightId
+     * @param cursor nextCursor of the previous page, null for the first page
+     * @param limit top-level comments per page
+     * @param replies replies preloaded per comment, 0 for top-level only
+     * @return 'CommentPage'
+     */
+    @Transactional(readOnly = true)
+    public CommentPage getCommentPage(Long flightId, String cursor, int limit, int replies) {
+        int size = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        // One extra row tells whether another page exists
+        PageRequest fetch = PageRequest.of(0, size + 1);
+        List<Comment> rows;
+        if (cursor == null || cursor.isEmpty()) {
+            rows = commentRepository.findTopLevelPage(flightId, fetch);
+        } else {
+            long[] position = decodeCursor(cursor);
+            rows = commentRepository.findTopLevelPageAfter(flightId, new Date(position[0]), position[1], fetch);
+        }
+        boolean hasNext = rows.size() > size;
+        List<Comment> page = hasNext ? new ArrayList<>(rows.subList(0, size)) : rows;
+        attachReplies(page, Math.min(Math.max(replies, 0), MAX_REPLIES));
+        String nextCursor = hasNext ? encodeCursor(page.get(page.size() - 1)) : null;
+        return CommentPage.builder().comments(page).nextCursor(nextCursor).build();
+    }
+
     
     /** 
      * @param id
@@ -50,8 +136,18 @@ public class CommentService {
      * @param comment
      * @return 'Comment'
      */
+    @Transactional
     public Comment createComment(Comment comment) {
-        return commentRepository.save(comment);
+        Comment saved = commentRepository.save(comment);
+        if (saved.getId() != null) {
+            // The id only exists after the insert; dirty checking writes the path at commit
+            saved.setPath(parentPath(saved.getParentComment()) + pathSegment(saved.getId()) + "/");
+        }
+        if (saved.getFlightId() != null) {
+            ratingAggregateService.recordComment(RatingAggregate.Target.FLIGHT,
+                    RatingAggregate.flightTargetId(saved.getFlightId()), 1);
+        }
+        return saved;
     }
 
     
@@ -76,8 +172,90 @@ public class CommentService {
     /** 
      * @param id
      */
+    @Transactional
     public void deleteComment(Long id) {
+        Long flightId = commentRepository.findById(id).map(Comment::getFlightId).orElse(null);
+        // Deleted first: a row seeded by this call counts the remaining comments
         commentRepository.deleteById(id);
+        if (flightId != null) {
+            ratingAggregateService.recordComment(RatingAggregate.Target.FLIGHT, RatingAggregate.flightTargetId(flightId), -1);
+        }
+    }
+
+    
+    /** 
+     * Links every comment to its parent in two passes over the list, O(n).
+     *
+     * @param comments
+     * @return 'List<Comment>' the comments without a parent in the list, in list order
+     */
+    static List<Comment> assembleThread(List<Comment> comments) {
+        Map<Long, Comment> byId = new HashMap<>(comments.size() * 2);
+        for (Comment comment : comments) {
+            comment.setChildren(new ArrayList<>());
+            byId.put(comment.getId(), comment);
+        }
+        List<Comment> roots = new ArrayList<>();
+        for (Comment comment : comments) {
+            Comment parent = comment.getParentComment() != null ? byId.get(comment.getParentComment()) : null;
+            if (parent != null && parent != comment) {
+                parent.getChildren().add(comment);
+            } else {
+                roots.add(comment);
+            }
+        }
+        return roots;
+    }
+
+    private String parentPath(Long parentId) {
+        if (parentId == null) {
+            return "/";
+        }
+        return commentRepository.findById(parentId)
+                .map(Comment::getPath)
+                // Comments stored before paths were maintained only have "/"
+                .filter(path -> path.length() > 1)
+                .orElse("/" + pathSegment(parentId) + "/");
     }
-}
 
+    // Zero-padded so that lexical order of the paths is numeric order of the ids
+    private static String pathSegment(Long id) {
+        return String.format("%010d", id);
+    }
+
+    // Direct replies of the whole page in one query, capped per parent by the database
+    private void attachReplies(List<Comment> page, int replies) {
+        Map<Long, Comment> byId = new HashMap<>(page.size() * 2);
+        for (Comment comment : page) {
+            comment.setChildren(new ArrayList<>());
+            byId.put(comment.getId(), comment);
+        }
+        if (replies == 0 || byId.isEmpty()) {
+            return;
+        }
+        for (Comment reply : commentRepository.findFirstRepliesPerParent(byId.keySet(), replies)) {
+            Comment parent = byId.get(reply.getParentComment());
+            if (parent != null) {
+                parent.getChildren().add(reply);
+            }
+        }
+    }
+
+    static String encodeCursor(Comment last) {
+        String position = last.getCreationDate().getTime() + ":" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static long[] decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int colon = position.indexOf(':');
+            return new long[] {
+                Long.parseLong(position.substring(0, colon)),
+                Long.parseLong(position.substring(colon + 1))
+            };
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package SpectraSystems.Nexus.services;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import SpectraSystems.Nexus.repositories.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Credential versions of the users whose tokens this instance has seen, each read by
+ * primary key the first time and again once older than refreshMs. The stateless
+ * authentication path thus queries NEXUS_USER at most once per user and interval.
+ * Users missing from NEXUS_USER (deleted) are never current.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CredentialVersionRegistry {
+
+    private final UserRepository userRepository;
+
+    @Value("${token.stateless.version-refresh-ms:30000}")
+    long refreshMs = 30_000;
+
+    @Value("${token.stateless.max-versions:100000}")
+    int maxEntries = 100_000;
+
+    private final Map<Long, Entry> versions = new ConcurrentHashMap<>();
+
+    private record Entry(long version, long loadedAt) { }
+
+
+    /**
+     * @param userId
+     * @return 'boolean' whether the user still exists
+     */
+    public boolean isKnown(Long userId) {
+        return version(userId) != null;
+    }
+
+
+    /**
+     * @param userId
+     * @param tokenVersion
+     * @return 'boolean' whether a token signed with tokenVersion is still accepted
+     */
+    public boolean isCurrent(Long userId, Long tokenVersion) {
+        if (tokenVersion == null) {
+            return false;
+        }
+        Long version = version(userId);
+        return version != null && tokenVersion >= version;
+    }
+
+
+    /**
+     * Drops a user deleted on this instance, so the next lookup reads the database.
+     *
+     * @param userId
+     */
+    public void forget(Long userId) {
+        if (userId != null) {
+            versions.remove(userId);
+        }
+    }
+
+
+    /**
+     * @param userId
+     * @return 'Long' the stored version, null when the user does not exist or cannot be read
+     */
+    private Long version(Long userId) {
+        if (userId == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        Entry entry = versions.get(userId);
+        if (entry != null && now - entry.loadedAt() < refreshMs) {
+            return entry.version();
+        }
+        Optional<Long> loaded;
+        try {
+            loaded = userRepository.findCredentialVersionById(userId);
+        } catch (RuntimeException e) {
+            // The database path decides instead
+            log.warn("Could not read the credential version of user {}: {}", userId, e.getMessage());
+            return null;
+        }
+        if (loaded.isEmpty()) {
+            versions.remove(userId);
+            return null;
+        }
+        if (versions.size() >= maxEntries && !versions.containsKey(userId)) {
+            versions.values().removeIf(stale -> now - stale.loadedAt() >= refreshMs);
+            if (versions.size() >= maxEntries) {
+                // Still full: start over, each user costs one more lookup
+                versions.clear();
+            }
+        }
+        versions.put(userId, new Entry(loaded.get(), now));
+        return loaded.get();
+    }
+}
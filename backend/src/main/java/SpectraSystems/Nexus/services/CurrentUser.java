@@ -0,0 +1,42 @@
+package SpectraSystems.Nexus.services;
+
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import SpectraSystems.Nexus.models.User;
+
+/**
+ * The NEXUS_USER the current request is authenticated as.
+ */
+final class CurrentUser {
+
+    private CurrentUser() {
+    }
+
+
+    /**
+     * @return 'Long' the user's id, null when the request is not authenticated as a user
+     */
+    static Long id() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User user) {
+            return user.getId();
+        }
+        return null;
+    }
+
+
+    /**
+     * Answered with 403 by the security filter chain.
+     *
+     * @param ownerId the user id stored on the flight or reservation
+     * @param resource named in the error, e.g. "flight"
+     */
+    static void requireOwner(Long ownerId, String resource) {
+        Long userId = id();
+        if (userId == null || !userId.equals(ownerId)) {
+            throw new AccessDeniedException("Only the user who booked this " + resource + " can change it");
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package SpectraSystems.Nexus.services;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,11 +11,15 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import SpectraSystems.Nexus.exceptions.BadRequestException;
 import SpectraSystems.Nexus.exceptions.ResourceNotFoundException;
 import SpectraSystems.Nexus.models.Flight;
 import SpectraSystems.Nexus.models.FlightPurchaseRequest;
 import SpectraSystems.Nexus.models.Provider;
+import SpectraSystems.Nexus.models.Rating;
+import SpectraSystems.Nexus.models.RatingAggregate;
 import SpectraSystems.Nexus.models.TicketPurchase;
 import SpectraSystems.Nexus.models.Type;
 import SpectraSystems.Nexus.models.externalFlight;
@@ -36,8 +41,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.TimeZone;
 
 @Service
@@ -53,6 +61,12 @@ public class FlightService {
     @Autowired
     private CommentService commentService; 
 
+    @Autowired
+    private RatingAggregateService ratingAggregateService;
+
+    @Value("${search.comments.per-flight:5}")
+    private int commentsPerFlight = 5;
+
     @Autowired
     public FlightService(FlightRepository flightRepository, RestTemplate restTemplate, TicketPurchaseRepository ticketPurchaseRepository) {
         this.flightRepository = flightRepository;
@@ -64,8 +78,9 @@ public class FlightService {
     /** 
      * @return 'List<Flight>'
      */
+    @Transactional(readOnly = true)
     public List<Flight> getAllFlights() {
-        return flightRepository.findAll();
+        return flightRepository.findAllWithTickets();
     }
 
     
@@ -82,8 +97,9 @@ public class FlightService {
      * @param userId
      * @return 'List<Flight>'
      */
+    @Transactional(readOnly = true)
     public List<Flight> getAllFlightsByUserId(Long userId) {
-        return flightRepository.findByUserid(userId);
+        return flightRepository.findWithTicketsByUserid(userId);
     }
 
     
@@ -147,6 +163,7 @@ public class FlightService {
         //     }
         // }
     
+        enrichSearchResults(allFlights);
         return allFlights;
     }
     
@@ -245,10 +262,46 @@ public class FlightService {
         //     }
         // }
 
+        enrichSearchResults(allFlights);
         return allFlights;
     }
 
 
+    /** 
+     * Attaches commentaries and ratings to every flight of a result set (scales included)
+     * with one comment query and one aggregate query, whatever the number of results.
+     *
+     * @param flights
+     */
+    void enrichSearchResults(List<externalFlight> flights) {
+        if (flights.isEmpty()) {
+            return;
+        }
+        List<externalFlight> legs = new ArrayList<>();
+        for (externalFlight flight : flights) {
+            for (externalFlight leg = flight; leg != null; leg = leg.getScale()) {
+                legs.add(leg);
+            }
+        }
+        Set<Long> flightIds = new LinkedHashSet<>();
+        for (externalFlight leg : legs) {
+            if (leg.getFlightId() != null) {
+                flightIds.add(leg.getFlightId());
+            }
+        }
+        Map<Long, List<Comment>> comments = commentService.getCommentsByFlightIds(flightIds, commentsPerFlight);
+        Map<String, Rating> ratings = ratingAggregateService.getRatings(RatingAggregate.Target.FLIGHT,
+                flightIds.stream().map(RatingAggregate::flightTargetId).toList());
+        for (externalFlight leg : legs) {
+            leg.setCommentaries(comments.get(leg.getFlightId()));
+            Rating rating = ratings.get(RatingAggregate.flightTargetId(leg.getFlightId()));
+            if (rating != null) {
+                leg.setRating(rating);
+            }
+        }
+    }
+
+
     
     /** 
      * @return 'List<City>'
@@ -434,6 +487,31 @@ public class FlightService {
     }
 
     
+    /** 
+     * @param id
+     * @param rating 1 to 5
+     * @return 'Flight'
+     */
+    @Transactional
+    public Flight rateFlight(Long id, Long rating) {
+        if (rating == null || rating < 1 || rating > 5) {
+            throw new BadRequestException("Rating must be between 1 and 5");
+        }
+        Flight flight = flightRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Flight not found with id: " + id));
+        CurrentUser.requireOwner(flight.getUser(), "flight");
+        Long previous = flight.getRating();
+        flight.setRating(rating);
+        Flight saved = flightRepository.save(flight);
+        // Same target as the flight's comments and search results; other flight numbers are never looked up
+        String targetId = RatingAggregate.flightTargetId(flight.getFlightNumber());
+        if (targetId != null) {
+            ratingAggregateService.recordRating(RatingAggregate.Target.FLIGHT, targetId, previous, rating);
+        }
+        return saved;
+    }
+
+    
     /** 
      * @param id
      */
@@ -9,7 +9,10 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import SpectraSystems.Nexus.models.Role;
+import SpectraSystems.Nexus.models.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -17,12 +20,25 @@ import io.jsonwebtoken.security.Keys;
 
 @Service
 public class JwtService {
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_CREDENTIAL_VERSION = "ver";
+
     @Value("${token.secret.key}")
     String jwtSecretKey;
 
     @Value("${token.expirationms}")
     Long jwtExpirationMs;
 
+    @Value("${token.cache.max-entries:10000}")
+    int maxCachedTokens = 10_000;
+
+    @Value("${token.stateless.enabled:false}")
+    boolean statelessEnabled;
+
+    // Key, parser and verified-claims cache, rebuilt only when the secret changes
+    private volatile SigningMaterial signingMaterial;
+
     
     /** 
      * @param token
@@ -31,6 +47,24 @@ public class JwtService {
     public String extractUserName(String token) {
         return extractClaim(token, Claims::getSubject);
     }
+
+
+    /** 
+     * Verifies the signature once per token; later calls for the same token
+     * are served from the verified-claims cache until the token expires.
+     *
+     * @param token
+     * @return 'Claims'
+     */
+    public Claims verifyToken(String token) {
+        SigningMaterial material = signingMaterial();
+        Claims claims = material.cache().get(token);
+        if (claims == null) {
+            claims = material.parser().parseClaimsJws(token).getBody();
+            material.cache().put(token, claims);
+        }
+        return claims;
+    }
   
     
     /** 
@@ -38,7 +72,43 @@ public class JwtService {
      * @return 'String'
      */
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        Map<String, Object> extraClaims = new HashMap<>();
+        if (userDetails instanceof User user && user.getId() != null && user.getRole() != null) {
+            // Signed in so the stateless mode can authenticate without loading the user
+            extraClaims.put(CLAIM_USER_ID, user.getId());
+            extraClaims.put(CLAIM_ROLE, user.getRole().name());
+            extraClaims.put(CLAIM_CREDENTIAL_VERSION,
+                    user.getCredentialVersion() == null ? 0L : user.getCredentialVersion());
+        }
+        return generateToken(extraClaims, userDetails);
+    }
+
+
+    /** 
+     * @return 'boolean' whether requests are authenticated from token claims alone
+     */
+    public boolean isStatelessEnabled() {
+        return statelessEnabled;
+    }
+
+
+    /** 
+     * @param claims
+     * @return 'User' built only from the signed claims, or null if the token predates them
+     */
+    public User userFromClaims(Claims claims) {
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        Number version = claims.get(CLAIM_CREDENTIAL_VERSION, Number.class);
+        if (userId == null || role == null || version == null) {
+            return null;
+        }
+        return User.builder()
+                .id(userId.longValue())
+                .email(claims.getSubject())
+                .role(Role.valueOf(role))
+                .credentialVersion(version.longValue())
+                .build();
     }
   
     
@@ -49,8 +119,8 @@ public class JwtService {
      */
     public boolean isTokenValid(String token, UserDetails userDetails) {
         try {
-            final String userName = extractUserName(token); // may throw if expired/malformed/etc.
-            return userName.equals(userDetails.getUsername()) && !isTokenExpired(token);
+            final Claims claims = verifyToken(token); // may throw if expired/malformed/etc.
+            return claims.getSubject().equals(userDetails.getUsername()) && !isTokenExpired(claims);
         } catch (io.jsonwebtoken.JwtException | IllegalArgumentException e) {
             // expired, malformed, bad signature, unsupported, empty, etc.
             return false;
@@ -63,7 +133,7 @@ public class JwtService {
      * @return 'T'
      */
     private <T> T extractClaim(String token, Function<Claims, T> claimsResolvers) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = verifyToken(token);
         return claimsResolvers.apply(claims);
     }
   
@@ -80,49 +150,36 @@ public class JwtService {
           .setSubject(userDetails.getUsername())
           .setIssuedAt(new Date(System.currentTimeMillis()))
           .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
-          .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+          .signWith(signingMaterial().key(), SignatureAlgorithm.HS256)
           .compact();
     }
   
     
     /** 
-     * @param token
+     * @param claims
      * @return 'boolean'
      */
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-  
-    
-    /** 
-     * @param token
-     * @return 'Date'
-     */
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
   
     
     /** 
-     * @param token
-     * @return 'Claims'
+     * @return 'SigningMaterial'
      */
-    private Claims extractAllClaims(String token) {
-        return Jwts
-          .parserBuilder()
-          .setSigningKey(getSigningKey())
-          .build()
-          .parseClaimsJws(token)
-          .getBody();
+    private SigningMaterial signingMaterial() {
+        SigningMaterial material = signingMaterial;
+        if (material == null || !material.secret().equals(jwtSecretKey)) {
+            byte[] keyBytes = Decoders.BASE64.decode(jwtSecretKey);
+            Key key = Keys.hmacShaKeyFor(keyBytes);
+            JwtParser parser = Jwts.parserBuilder().setSigningKey(key).build();
+            material = new SigningMaterial(jwtSecretKey, key, parser, new VerifiedTokenCache(maxCachedTokens));
+            signingMaterial = material;
+        }
+        return material;
     }
-  
-    
-    /** 
-     * @return 'Key'
-     */
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+
+    private record SigningMaterial(String secret, Key key, JwtParser parser, VerifiedTokenCache cache) {
     }
 
 }
@@ -0,0 +1,148 @@
+package SpectraSystems.Nexus.services;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import SpectraSystems.Nexus.models.Provider;
+import SpectraSystems.Nexus.models.Type;
+import SpectraSystems.Nexus.repositories.ProviderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Immutable snapshot of the PROVIDERS table indexed by id and by type. Reads are a
+ * volatile load and a map lookup; writers build a new snapshot and swap it in.
+ * Providers handed out are shared and must be treated as read-only.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProviderRegistry {
+
+    private final ProviderRepository providerRepository;
+
+    private volatile Snapshot snapshot;
+
+
+    /**
+     * @return 'List<Provider>' every provider, in id order
+     */
+    public List<Provider> findAll() {
+        return current().ordered();
+    }
+
+
+    /**
+     * @param id
+     * @return 'Optional<Provider>'
+     */
+    public Optional<Provider> findById(Long id) {
+        return Optional.ofNullable(id == null ? null : current().byId().get(id));
+    }
+
+
+    /**
+     * @param type
+     * @return 'List<Provider>'
+     */
+    public List<Provider> findByType(Type type) {
+        return current().byType().getOrDefault(type, List.of());
+    }
+
+
+    /**
+     * Copy-on-write: the saved provider replaces its previous version in a new snapshot.
+     *
+     * @param provider
+     */
+    public synchronized void put(Provider provider) {
+        if (provider == null || provider.getId() == null) {
+            return;
+        }
+        Map<Long, Provider> providers = new LinkedHashMap<>(current().byId());
+        providers.put(provider.getId(), copyOf(provider));
+        snapshot = Snapshot.of(providers.values());
+    }
+
+
+    /**
+     * @param id
+     */
+    public synchronized void remove(Long id) {
+        Map<Long, Provider> providers = new LinkedHashMap<>(current().byId());
+        if (providers.remove(id) != null) {
+            snapshot = Snapshot.of(providers.values());
+        }
+    }
+
+
+    /**
+     * Full reload, picking up changes written by other replicas.
+     */
+    @Scheduled(fixedDelayString = "${provider.registry.refresh-ms:300000}",
+               initialDelayString = "${provider.registry.refresh-ms:300000}")
+    public synchronized void reload() {
+        try {
+            List<Provider> providers = new ArrayList<>();
+            for (Provider provider : providerRepository.findAll()) {
+                providers.add(copyOf(provider));
+            }
+            snapshot = Snapshot.of(providers);
+        } catch (RuntimeException e) {
+            if (snapshot == null) {
+                throw e;
+            }
+            // Keep serving the previous snapshot; the next run retries
+            log.warn("Could not reload providers: {}", e.getMessage());
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    reload();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    // Detached copy, so later changes to the managed entity never leak into the snapshot
+    private static Provider copyOf(Provider provider) {
+        return new Provider(provider.getId(), provider.getProviderName(), provider.getProviderUrl(),
+                provider.getType(), provider.getGainsFlights(), provider.getGainsHotel(),
+                provider.getPercentageDiscount());
+    }
+
+    private record Snapshot(List<Provider> ordered, Map<Long, Provider> byId,
+                            Map<Type, List<Provider>> byType) {
+
+        static Snapshot of(Iterable<Provider> providers) {
+            List<Provider> ordered = new ArrayList<>();
+            providers.forEach(ordered::add);
+            ordered.sort((a, b) -> Long.compare(a.getId(), b.getId()));
+            Map<Long, Provider> byId = new LinkedHashMap<>();
+            Map<Type, List<Provider>> byType = new EnumMap<>(Type.class);
+            for (Provider provider : ordered) {
+                byId.put(provider.getId(), provider);
+                if (provider.getType() != null) {
+                    byType.computeIfAbsent(provider.getType(), type -> new ArrayList<>()).add(provider);
+                }
+            }
+            byType.replaceAll((type, list) -> List.copyOf(list));
+            return new Snapshot(List.copyOf(ordered), Collections.unmodifiableMap(byId),
+                    Collections.unmodifiableMap(byType));
+        }
+    }
+}
@@ -14,36 +14,38 @@ import java.util.Optional;
 public class ProviderServices {
 
     private final ProviderRepository providerRepository;
+    private final ProviderRegistry providerRegistry;
 
     @Autowired
-    public ProviderServices(ProviderRepository providerRepository) {
+    public ProviderServices(ProviderRepository providerRepository, ProviderRegistry providerRegistry) {
         this.providerRepository = providerRepository;
+        this.providerRegistry = providerRegistry;
     }
 
     
     /** 
-     * @return 'List<Provider>'
+     * @return 'List<Provider>' from the in-memory registry
      */
     public List<Provider> getAllProviders() {
-        return providerRepository.findAll();
+        return providerRegistry.findAll();
     }
 
     
     /** 
      * @param id
-     * @return 'Optional<Provider>'
+     * @return 'Optional<Provider>' from the in-memory registry
      */
     public Optional<Provider> getProviderById(Long id) {
-        return providerRepository.findById(id);
+        return providerRegistry.findById(id);
     }
 
     
     /** 
      * @param type
-     * @return 'List<Provider>'
+     * @return 'List<Provider>' from the in-memory registry
      */
     public List<Provider> getProviderByType(Type type) {
-        return providerRepository.findByType(type);
+        return providerRegistry.findByType(type);
     }
 
     
@@ -52,7 +54,9 @@ public class ProviderServices {
      * @return 'Provider'
      */
     public Provider createProvider(Provider provider) {
-        return providerRepository.save(provider);
+        Provider saved = providerRepository.save(provider);
+        providerRegistry.put(saved);
+        return saved;
     }
 
     /** 
@@ -78,7 +82,9 @@ public class ProviderServices {
             existingProvider.setGainsHotel(provider.getGainsHotel());
 
             // Save the updated provider in the database
-            return providerRepository.save(existingProvider);
+            Provider saved = providerRepository.save(existingProvider);
+            providerRegistry.put(saved);
+            return saved;
         } else {
             // If the provider with the given ID is not found, return null
             return null;
@@ -90,6 +96,7 @@ public class ProviderServices {
      */
     public void deleteProvider(Long id) {
         providerRepository.deleteById(id);
+        providerRegistry.remove(id);
     }
 }
 
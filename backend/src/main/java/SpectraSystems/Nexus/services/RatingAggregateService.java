@@ -0,0 +1,171 @@
+package SpectraSystems.Nexus.services;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import SpectraSystems.Nexus.models.Rating;
+import SpectraSystems.Nexus.models.RatingAggregate;
+import SpectraSystems.Nexus.repositories.RatingAggregateRepository;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class RatingAggregateService {
+    private final RatingAggregateRepository ratingAggregateRepository;
+    private final TransactionTemplate transaction;
+
+    @Value("${ratings.aggregate.backfill-on-startup:true}")
+    private boolean backfillOnStartup = true;
+
+    @Autowired
+    public RatingAggregateService(RatingAggregateRepository ratingAggregateRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.ratingAggregateRepository = ratingAggregateRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    
+    /** 
+     * @param target
+     * @param targetId
+     * @param delta +1 for a new comment, -1 for a deleted one
+     */
+    @Transactional
+    public void recordComment(RatingAggregate.Target target, String targetId, long delta) {
+        apply(new RatingAggregate.Key(target, targetId), 0, 0, delta);
+    }
+
+    
+    /** 
+     * @param target
+     * @param targetId
+     * @param previous the rating being replaced, null for a first rating
+     * @param current the new rating, null when the rating is withdrawn
+     */
+    @Transactional
+    public void recordRating(RatingAggregate.Target target, String targetId, Long previous, Long current) {
+        long countDelta = (current != null ? 1 : 0) - (previous != null ? 1 : 0);
+        long sumDelta = (current != null ? current : 0) - (previous != null ? previous : 0);
+        if (countDelta != 0 || sumDelta != 0) {
+            apply(new RatingAggregate.Key(target, targetId), countDelta, sumDelta, 0);
+        }
+    }
+
+    
+    /** 
+     * One query for a whole result list.
+     *
+     * @param target
+     * @param targetIds
+     * @return 'Map<String, Rating>' by target id; ids never rated or commented are absent
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Rating> getRatings(RatingAggregate.Target target, Collection<String> targetIds) {
+        Map<String, Rating> ratings = new HashMap<>();
+        if (targetIds == null || targetIds.isEmpty()) {
+            return ratings;
+        }
+        for (RatingAggregate aggregate : ratingAggregateRepository.findByIdTargetTypeAndIdTargetIdIn(target, targetIds)) {
+            ratings.put(aggregate.getId().getTargetId(), aggregate.toRating());
+        }
+        return ratings;
+    }
+
+    
+    /** 
+     * @param target
+     * @param targetIds
+     * @return 'Map<String, Long>' comment count by target id
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Long> getCommentCounts(RatingAggregate.Target target, Collection<String> targetIds) {
+        Map<String, Long> counts = new HashMap<>();
+        if (targetIds == null || targetIds.isEmpty()) {
+            return counts;
+        }
+        for (RatingAggregate aggregate : ratingAggregateRepository.findByIdTargetTypeAndIdTargetIdIn(target, targetIds)) {
+            counts.put(aggregate.getId().getTargetId(), aggregate.getCommentCount());
+        }
+        return counts;
+    }
+
+    
+    /** 
+     * Creates the rows of targets that were commented or rated before aggregates were
+     * maintained, so their totals are served without waiting for their next write.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        int seeded = 0;
+        for (String flightId : ratingAggregateRepository.findUnseededCommentedFlights(RatingAggregate.Target.FLIGHT)) {
+            seeded += seedIfAbsent(new RatingAggregate.Key(RatingAggregate.Target.FLIGHT, flightId)) ? 1 : 0;
+        }
+        for (String flightNumber : ratingAggregateRepository.findUnseededRatedFlights(RatingAggregate.Target.FLIGHT)) {
+            String flightId = RatingAggregate.flightTargetId(flightNumber);
+            if (flightId != null) {
+                seeded += seedIfAbsent(new RatingAggregate.Key(RatingAggregate.Target.FLIGHT, flightId)) ? 1 : 0;
+            }
+        }
+        for (String hotelId : ratingAggregateRepository.findUnseededRatedHotels(RatingAggregate.Target.HOTEL)) {
+            seeded += seedIfAbsent(new RatingAggregate.Key(RatingAggregate.Target.HOTEL, hotelId)) ? 1 : 0;
+        }
+        if (seeded > 0) {
+            log.info("Seeded {} rating aggregates from existing comments and ratings", seeded);
+        }
+    }
+
+    // First write for a target: the row is inserted in the caller's transaction, seeded from
+    // the source rows. applyDelta has flushed the caller's own change, so the seed already
+    // counts it; only when another writer created the row first is the delta applied
+    private void apply(RatingAggregate.Key key, long ratingCount, long ratingSum, long commentCount) {
+        if (ratingAggregateRepository.applyDelta(key, ratingCount, ratingSum, commentCount) == 0
+                && !ratingAggregateRepository.insertIfAbsent(seed(key))) {
+            ratingAggregateRepository.applyDelta(key, ratingCount, ratingSum, commentCount);
+        }
+    }
+
+    private boolean seedIfAbsent(RatingAggregate.Key key) {
+        return Boolean.TRUE.equals(transaction.execute(status -> ratingAggregateRepository.insertIfAbsent(seed(key))));
+    }
+
+    private RatingAggregate seed(RatingAggregate.Key key) {
+        RatingAggregate aggregate = new RatingAggregate(key);
+        RatingAggregateRepository.RatingTotals totals;
+        if (key.getTargetType() == RatingAggregate.Target.FLIGHT) {
+            totals = ratingAggregateRepository.findFlightRatingTotals(key.getTargetId());
+            Long flightId = parseId(key.getTargetId());
+            if (flightId != null) {
+                aggregate.setCommentCount(ratingAggregateRepository.countFlightComments(flightId));
+            }
+        } else {
+            totals = ratingAggregateRepository.findHotelRatingTotals(key.getTargetId());
+        }
+        if (totals != null) {
+            aggregate.setRatingCount(totals.getRatingCount());
+            aggregate.setRatingSum(totals.getRatingSum());
+        }
+        return aggregate;
+    }
+
+    // Comments key flights by a numeric id, ratings by the provider's flight number
+    private static Long parseId(String targetId) {
+        try {
+            return Long.valueOf(targetId);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
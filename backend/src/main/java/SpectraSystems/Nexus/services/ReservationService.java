@@ -5,9 +5,12 @@ import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import SpectraSystems.Nexus.exceptions.BadRequestException;
 import SpectraSystems.Nexus.exceptions.ResourceNotFoundException;
 import SpectraSystems.Nexus.models.Flight;
+import SpectraSystems.Nexus.models.RatingAggregate;
 import SpectraSystems.Nexus.models.Reservation;
 import SpectraSystems.Nexus.models.User;
 import SpectraSystems.Nexus.repositories.FlightRepository;
@@ -27,6 +30,9 @@ public class ReservationService {
     @Autowired
     private JavaMailSender emailSender;
 
+    @Autowired
+    private RatingAggregateService ratingAggregateService;
+
     @Autowired
     public ReservationService(ReservationRepository reservationRepository, FlightRepository flightRepository, UserService userService) {
         this.reservationRepository = reservationRepository;
@@ -38,6 +44,7 @@ public class ReservationService {
     /** 
      * @return 'List<Reservation>'
      */
+    @Transactional(readOnly = true)
     public List<Reservation> getAllReservations() {
         return reservationRepository.findAll();
     }
@@ -65,6 +72,7 @@ public class ReservationService {
      * @param userId
      * @return 'List<Reservation>'
      */
+    @Transactional(readOnly = true)
     public List<Reservation> getAllReservationsByUserId(Long userId) {
         return reservationRepository.findByUserid(userId);
     }
@@ -157,6 +165,29 @@ public class ReservationService {
     }
 
     
+    /** 
+     * @param id
+     * @param rating 1 to 5
+     * @return 'Reservation'
+     */
+    @Transactional
+    public Reservation rateReservation(Long id, Long rating) {
+        if (rating == null || rating < 1 || rating > 5) {
+            throw new BadRequestException("Rating must be between 1 and 5");
+        }
+        Reservation reservation = reservationRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Reservation not found with id: " + id));
+        CurrentUser.requireOwner(reservation.getUser(), "reservation");
+        Long previous = reservation.getRating();
+        reservation.setRating(rating);
+        Reservation saved = reservationRepository.save(reservation);
+        if (reservation.getHotelId() != null) {
+            ratingAggregateService.recordRating(RatingAggregate.Target.HOTEL, reservation.getHotelId(), previous, rating);
+        }
+        return saved;
+    }
+
+    
     /** 
      * @param id
      */
@@ -172,10 +203,9 @@ public class ReservationService {
     private void sendCancellationEmail(Long userId, String Type) {
         try {
             // Retrieve user by userId
-            Optional<User> optionalUser = userService.getUserById(userId);
-            if (optionalUser.isPresent()) {
-                User user = optionalUser.get();
-                String userEmail = user.getEmail();    
+            Optional<String> optionalEmail = userService.getUserEmail(userId);
+            if (optionalEmail.isPresent()) {
+                String userEmail = optionalEmail.get();    
                 // Create MimeMessage
                 MimeMessage message = emailSender.createMimeMessage();
                 if (Type == "flight") {
@@ -0,0 +1,122 @@
+package SpectraSystems.Nexus.services;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import SpectraSystems.Nexus.models.RevokedToken;
+import SpectraSystems.Nexus.repositories.RevokedTokenRepository;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Deny-list of JWTs revoked before their expiration. NEXUS_REVOKED_TOKEN is the
+ * source of truth shared by every replica; each replica probes an in-memory Bloom
+ * filter first and only queries the table when the filter reports a possible hit.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final JwtService jwtService;
+
+    @Value("${token.revocation.false-positive-rate:0.001}")
+    double falsePositiveRate = 0.001;
+
+    @Value("${token.revocation.rebuild-ms:600000}")
+    long rebuildIntervalMs = 600_000L;
+
+    // Re-read window so rows committed late by another replica are not missed
+    @Value("${token.revocation.sync-overlap-ms:60000}")
+    long syncOverlapMs = 60_000L;
+
+    private volatile BloomFilter filter;
+    private volatile Instant lastSync;
+    private volatile Instant lastRebuild;
+    private int inserted;
+
+
+    /**
+     * @param token the raw JWT
+     * @return 'boolean' whether the token was revoked; the common negative answer costs no query
+     */
+    public boolean isRevoked(String token) {
+        if (token == null || token.isEmpty()) {
+            return false;
+        }
+        String digest = VerifiedTokenCache.digest(token);
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(digest)) {
+            return false;
+        }
+        // Possible hit, or not synced yet: the table decides
+        return revokedTokenRepository.existsById(digest);
+    }
+
+
+    /**
+     * @param token the raw JWT, already authenticated
+     */
+    public void revoke(String token) {
+        Claims claims = jwtService.verifyToken(token);
+        Date expiration = claims.getExpiration();
+        if (expiration == null || !expiration.toInstant().isAfter(Instant.now())) {
+            return;
+        }
+        String digest = VerifiedTokenCache.digest(token);
+        revokedTokenRepository.save(new RevokedToken(digest, expiration.toInstant(), Instant.now()));
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(digest);
+        }
+    }
+
+
+    /**
+     * Pulls the rows other replicas added since the last run; every rebuild-ms
+     * (or when the filter outgrew its sizing) it is rebuilt from scratch instead,
+     * which also drops expired digests and their rows.
+     */
+    @Scheduled(fixedDelayString = "${token.revocation.sync-ms:10000}")
+    public synchronized void sync() {
+        Instant now = Instant.now();
+        try {
+            BloomFilter current = filter;
+            if (current == null
+                    || inserted > current.expectedInsertions()
+                    || Duration.between(lastRebuild, now).toMillis() >= rebuildIntervalMs) {
+                rebuild(now);
+                return;
+            }
+            List<String> digests = revokedTokenRepository.findDigestsRevokedSince(
+                    lastSync.minusMillis(syncOverlapMs), now);
+            digests.forEach(current::put);
+            inserted += digests.size();
+            lastSync = now;
+        } catch (RuntimeException e) {
+            // Keep the previous filter; isRevoked still confirms every hit against the table
+            log.warn("Could not sync revoked tokens: {}", e.getMessage());
+        }
+    }
+
+    private void rebuild(Instant now) {
+        int purged = revokedTokenRepository.deleteExpired(now);
+        List<String> digests = revokedTokenRepository.findLiveDigests(now);
+        // Headroom for the revocations that arrive before the next rebuild
+        BloomFilter rebuilt = new BloomFilter(Math.max(1024, digests.size() * 2), falsePositiveRate);
+        digests.forEach(rebuilt::put);
+        inserted = digests.size();
+        filter = rebuilt;
+        lastSync = now;
+        lastRebuild = now;
+        log.debug("Rebuilt revoked-token filter with {} digests ({} expired rows purged)", digests.size(), purged);
+    }
+}
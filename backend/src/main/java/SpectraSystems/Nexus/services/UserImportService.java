@@ -0,0 +1,400 @@
+package SpectraSystems.Nexus.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.apache.commons.lang3.StringUtils;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import SpectraSystems.Nexus.dto.SignUpRequest;
+import SpectraSystems.Nexus.dto.UserImportResult;
+import SpectraSystems.Nexus.models.Role;
+import SpectraSystems.Nexus.models.User;
+import SpectraSystems.Nexus.repositories.UserRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bulk sign-up: rows are read lazily and handled in chunks. Each chunk is checked
+ * against NEXUS_USER with one IN query, hashed in parallel on a dedicated bounded pool
+ * and written with a single JDBC batch (IDENTITY ids rule out Hibernate batching).
+ */
+@Service
+@Slf4j
+public class UserImportService {
+
+    // User properties written by the batch insert, in parameter order
+    private static final String[] INSERT_PROPERTIES = {
+            "first_Name", "last_Name", "email", "age", "password", "country", "passport",
+            "role", "createdAt", "updatedAt", "credentialVersion" };
+
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate transaction;
+    private final ObjectMapper objectMapper;
+    private final PasswordEncoder hashingEncoder;
+    private final ExecutorService hashingPool;
+    private final int batchSize;
+
+    private volatile String insertSql;
+
+    @Autowired
+    public UserImportService(UserRepository userRepository,
+                             JdbcTemplate jdbcTemplate,
+                             EntityManagerFactory entityManagerFactory,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             @Value("${auth.bcrypt.strength:10}") int strength,
+                             @Value("${users.import.hashing-threads:0}") int threads,
+                             @Value("${users.import.batch-size:500}") int batchSize) {
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        // Same cost as sign-in, but off the sign-in pool so an import cannot starve logins
+        this.hashingEncoder = new BCryptPasswordEncoder(strength);
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.hashingPool = Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "user-import-hashing-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Oracle caps IN lists at 1000 elements
+        this.batchSize = Math.max(1, Math.min(batchSize, 1000));
+    }
+
+    
+    /** 
+     * @param json a JSON array or newline-delimited JSON objects of SignUpRequest
+     * @param sink receives the results of each chunk, in row order
+     * @throws IOException
+     */
+    public void importJson(InputStream json, Consumer<List<UserImportResult>> sink) throws IOException {
+        importUsers(objectMapper.readerFor(SignUpRequest.class).readValues(json), sink);
+    }
+
+    
+    /** 
+     * @param csv a header line naming SignUpRequest fields, then one user per line
+     * @param sink receives the results of each chunk, in row order
+     * @throws IOException
+     */
+    public void importCsv(Reader csv, Consumer<List<UserImportResult>> sink) throws IOException {
+        importUsers(new CsvRows(new BufferedReader(csv)), sink);
+    }
+
+    
+    /** 
+     * A malformed row is reported as invalid and the import goes on; unreadable input
+     * ends the import after the rows read so far were handled.
+     *
+     * @param rows
+     * @param sink receives the results of each chunk, in row order
+     */
+    public void importUsers(Iterator<SignUpRequest> rows, Consumer<List<UserImportResult>> sink) {
+        Set<String> seen = new HashSet<>();
+        List<Row> chunk = new ArrayList<>(batchSize);
+        int rowNumber = 0;
+        while (true) {
+            SignUpRequest request;
+            String problem = null;
+            try {
+                if (!rows.hasNext()) {
+                    break;
+                }
+                request = rows.next();
+            } catch (InvalidRowException e) {
+                request = e.getRequest();
+                problem = e.getMessage();
+            } catch (RuntimeException e) {
+                processChunk(chunk, seen, sink);
+                sink.accept(List.of(UserImportResult.invalid(rowNumber + 1, null, "Unreadable input: " + e.getMessage())));
+                return;
+            }
+            chunk.add(new Row(++rowNumber, request, problem));
+            if (chunk.size() == batchSize) {
+                processChunk(chunk, seen, sink);
+                chunk = new ArrayList<>(batchSize);
+            }
+        }
+        processChunk(chunk, seen, sink);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingPool.shutdownNow();
+    }
+
+    private void processChunk(List<Row> chunk, Set<String> seen, Consumer<List<UserImportResult>> sink) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<UserImportResult> results = new ArrayList<>(chunk.size());
+        Map<String, Row> candidates = new HashMap<>();
+        for (Row row : chunk) {
+            SignUpRequest request = row.request();
+            String email = request == null ? null : StringUtils.trimToNull(request.getEmail());
+            String problem = row.problem() != null ? row.problem() : validate(request, email);
+            if (problem != null) {
+                results.add(UserImportResult.invalid(row.number(), email, problem));
+            } else if (!seen.add(email)) {
+                results.add(UserImportResult.duplicate(row.number(), email, "Repeated in this import"));
+            } else {
+                candidates.put(email, row);
+            }
+        }
+        if (!candidates.isEmpty()) {
+            for (String existing : userRepository.findExistingEmails(candidates.keySet())) {
+                Row row = candidates.remove(existing);
+                if (row != null) {
+                    results.add(UserImportResult.duplicate(row.number(), existing, "Already registered"));
+                }
+            }
+        }
+        if (!candidates.isEmpty()) {
+            insert(new ArrayList<>(candidates.values()), results);
+        }
+        results.sort(Comparator.comparingInt(UserImportResult::row));
+        sink.accept(results);
+    }
+
+    private void insert(List<Row> rows, List<UserImportResult> results) {
+        List<CompletableFuture<String>> hashes = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            String raw = row.request().getPassword();
+            hashes.add(CompletableFuture.supplyAsync(() -> hashingEncoder.encode(raw), hashingPool));
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> params = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            SignUpRequest request = rows.get(i).request();
+            params.add(new Object[] {
+                    request.getFirst_Name(), request.getLast_Name(), request.getEmail().trim(), request.getAge(),
+                    hashes.get(i).join(), request.getCountry(), request.getPassport(),
+                    Role.ROLE_USER.name(), now, now, 0L });
+        }
+        String sql = insertSql();
+        try {
+            transaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, params));
+            for (Row row : rows) {
+                results.add(UserImportResult.created(row.number(), row.request().getEmail().trim()));
+            }
+        } catch (DataIntegrityViolationException e) {
+            // An email was registered since the IN query: retry the chunk row by row
+            log.info("Bulk insert of {} users hit a constraint, retrying row by row", rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                Row row = rows.get(i);
+                Object[] rowParams = params.get(i);
+                String email = row.request().getEmail().trim();
+                try {
+                    transaction.executeWithoutResult(status -> jdbcTemplate.update(sql, rowParams));
+                    results.add(UserImportResult.created(row.number(), email));
+                } catch (DataIntegrityViolationException duplicate) {
+                    results.add(UserImportResult.duplicate(row.number(), email, "Already registered"));
+                }
+            }
+        }
+    }
+
+    
+    /** 
+     * @return 'String' the insert statement, with table and column names as Hibernate maps them
+     */
+    private String insertSql() {
+        String sql = insertSql;
+        if (sql == null) {
+            AbstractEntityPersister persister = (AbstractEntityPersister) entityManagerFactory
+                    .unwrap(SessionFactoryImplementor.class)
+                    .getMappingMetamodel()
+                    .getEntityDescriptor(User.class);
+            StringJoiner columns = new StringJoiner(", ");
+            StringJoiner values = new StringJoiner(", ");
+            for (String property : INSERT_PROPERTIES) {
+                columns.add(persister.getPropertyColumnNames(property)[0]);
+                values.add("?");
+            }
+            sql = "insert into " + persister.getTableName() + " (" + columns + ") values (" + values + ")";
+            insertSql = sql;
+        }
+        return sql;
+    }
+
+    private static String validate(SignUpRequest request, String email) {
+        if (request == null) {
+            return "Empty row";
+        }
+        if (email == null || !email.contains("@")) {
+            return "A valid email is required";
+        }
+        if (StringUtils.isBlank(request.getPassword())) {
+            return "Password is required";
+        }
+        if (StringUtils.isAnyBlank(request.getFirst_Name(), request.getLast_Name())) {
+            return "First and last name are required";
+        }
+        return null;
+    }
+
+    private record Row(int number, SignUpRequest request, String problem) {
+    }
+
+    
+    /** 
+     * A row that was read but cannot become a SignUpRequest; the rows after it are still imported.
+     */
+    static class InvalidRowException extends RuntimeException {
+        private final transient SignUpRequest request;
+
+        InvalidRowException(SignUpRequest request, String message) {
+            super(message);
+            this.request = request;
+        }
+
+        SignUpRequest getRequest() {
+            return request;
+        }
+    }
+
+    
+    /** 
+     * Lazily parsed CSV rows; fields may be double-quoted, with "" for a quote.
+     */
+    static class CsvRows implements Iterator<SignUpRequest> {
+        private final BufferedReader reader;
+        private List<String> header;
+        private String nextLine;
+
+        CsvRows(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                if (header == null) {
+                    String headerLine = reader.readLine();
+                    if (headerLine == null) {
+                        return false;
+                    }
+                    header = new ArrayList<>();
+                    for (String name : parseLine(headerLine)) {
+                        header.add(name.trim().toLowerCase(Locale.ROOT));
+                    }
+                }
+                while (nextLine == null) {
+                    String line = reader.readLine();
+                    if (line == null) {
+                        return false;
+                    }
+                    if (!line.isBlank()) {
+                        nextLine = line;
+                    }
+                }
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public SignUpRequest next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            List<String> fields = parseLine(nextLine);
+            nextLine = null;
+            SignUpRequest request = new SignUpRequest();
+            String problem = null;
+            for (int i = 0; i < header.size() && i < fields.size(); i++) {
+                String value = StringUtils.trimToNull(fields.get(i));
+                switch (header.get(i)) {
+                    case "first_name", "firstname" -> request.setFirst_Name(value);
+                    case "last_name", "lastname" -> request.setLast_Name(value);
+                    case "email" -> request.setEmail(value);
+                    case "password" -> request.setPassword(value);
+                    case "age" -> {
+                        try {
+                            request.setAge(value == null ? null : Integer.valueOf(value));
+                        } catch (NumberFormatException e) {
+                            problem = "Age must be a whole number: " + value;
+                        }
+                    }
+                    case "country" -> request.setCountry(value);
+                    case "passport" -> request.setPassport(value);
+                    default -> {
+                        // unknown columns are ignored
+                    }
+                }
+            }
+            if (problem != null) {
+                throw new InvalidRowException(request, problem);
+            }
+            return request;
+        }
+
+        static List<String> parseLine(String line) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
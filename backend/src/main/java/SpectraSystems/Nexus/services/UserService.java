@@ -1,11 +1,17 @@
 package SpectraSystems.Nexus.services;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import SpectraSystems.Nexus.dto.UserSummary;
 import SpectraSystems.Nexus.exceptions.ResourceNotFoundException;
 import SpectraSystems.Nexus.models.User;
 import SpectraSystems.Nexus.repositories.UserRepository;
@@ -16,9 +22,14 @@ import java.util.Optional;
 
 @Service
 public class UserService {
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final UserRepository userRepository;
     private PasswordEncoder passwordEncoder;
 
+    @Autowired(required = false)
+    private CredentialVersionRegistry credentialVersionRegistry;
+
     @Autowired
     public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
         this.userRepository = userRepository;
@@ -29,6 +40,7 @@ public class UserService {
     /** 
      * @return 'List<User>'
      */
+    @Transactional(readOnly = true)
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
@@ -43,6 +55,37 @@ public class UserService {
     }
 
     
+    /** 
+     * @param page
+     * @param size clamped to 1..MAX_PAGE_SIZE
+     * @return 'Page<UserSummary>' ordered by id
+     */
+    @Transactional(readOnly = true)
+    public Page<UserSummary> getUserSummaries(int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        return userRepository.findSummaries(PageRequest.of(Math.max(page, 0), pageSize, Sort.by("id")));
+    }
+
+    
+    /** 
+     * @param id
+     * @return 'Optional<UserSummary>'
+     */
+    @Transactional(readOnly = true)
+    public Optional<UserSummary> getUserSummaryById(Long id) {
+        return userRepository.findSummaryById(id);
+    }
+
+    
+    /** 
+     * @param id
+     * @return 'Optional<String>' the email alone, for notification paths
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> getUserEmail(Long id) {
+        return userRepository.findEmailById(id);
+    }
+    
     /** 
      * @param user
      * @return 'User'
@@ -68,6 +111,11 @@ public class UserService {
         user.setCountry(userDetails.getCountry());
         user.setPassport(userDetails.getPassport());
         user.setPercentage(userDetails.getPercentage());
+        if (user.getRole() != userDetails.getRole()) {
+            // Tokens carrying the old role must not keep authenticating in stateless mode
+            long version = user.getCredentialVersion() == null ? 0L : user.getCredentialVersion();
+            user.setCredentialVersion(version + 1);
+        }
         user.setRole(userDetails.getRole());
 
         return userRepository.save(user);
@@ -79,6 +127,9 @@ public class UserService {
      */
     public void deleteUser(Long id) {
         userRepository.deleteById(id);
+        if (credentialVersionRegistry != null) {
+            credentialVersionRegistry.forget(id);
+        }
     }
 
     
@@ -95,6 +146,23 @@ public class UserService {
     }
 
     
+    /** 
+     * Stores the rehashed password when the BCrypt cost was raised since the user's last login.
+     *
+     * @return 'UserDetailsPasswordService'
+     */
+    public UserDetailsPasswordService userDetailsPasswordService(){
+        return new UserDetailsPasswordService() {
+            @Override
+            public UserDetails updatePassword(UserDetails user, String newPassword){
+                User existing = userRepository.findByEmail(user.getUsername()).orElseThrow(() -> new UsernameNotFoundException("username not found"));
+                existing.setPassword(newPassword);
+                return save(existing);
+            }
+        };
+    }
+
+    
     /** 
      * @param newUser
      * @return 'User'
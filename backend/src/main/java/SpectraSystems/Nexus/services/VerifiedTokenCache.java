@@ -0,0 +1,100 @@
+package SpectraSystems.Nexus.services;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Keeps the claims of tokens whose signature was already verified, keyed by the
+ * SHA-256 digest of the token, until the token's own expiration.
+ */
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+
+    public VerifiedTokenCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+
+    /**
+     * @param token
+     * @return 'Claims' or null when the token was not verified yet or has expired
+     */
+    public Claims get(String token) {
+        if (token == null || token.isEmpty() || maxEntries <= 0) {
+            return null;
+        }
+        String key = digest(token);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.claims();
+    }
+
+
+    /**
+     * @param token
+     * @param claims
+     */
+    public void put(String token, Claims claims) {
+        Date expiration = claims.getExpiration();
+        if (token == null || token.isEmpty() || maxEntries <= 0 || expiration == null) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            evictExpired();
+            if (entries.size() >= maxEntries) {
+                // Still full of live tokens: start over rather than track recency on the hot path
+                entries.clear();
+            }
+        }
+        entries.put(digest(token), new Entry(claims, expiration.getTime()));
+    }
+
+
+    /**
+     * @return 'int'
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private void evictExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt() <= now);
+    }
+
+
+    /**
+     * @param token
+     * @return 'String' the url-safe base64 SHA-256 digest of the token
+     */
+    public static String digest(String token) {
+        byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+    }
+
+    private record Entry(Claims claims, long expiresAt) {
+    }
+}
@@ -0,0 +1,75 @@
+package SpectraSystems.Nexus.config;
+
+import SpectraSystems.Nexus.exceptions.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    @Test
+    void encode_and_matches_delegate_to_bcrypt() {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 2, 4, 5_000);
+        try {
+            String hash = encoder.encode("secret");
+            assertTrue(encoder.matches("secret", hash));
+            assertFalse(encoder.matches("other", hash));
+        } finally {
+            encoder.shutdown();
+        }
+    }
+
+    @Test
+    void upgradeEncoding_whenConfiguredCostIsHigher() {
+        String weakHash = new BCryptPasswordEncoder(4).encode("secret");
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), 1, 1, 5_000);
+        try {
+            assertTrue(encoder.upgradeEncoding(weakHash));
+            assertFalse(encoder.upgradeEncoding(encoder.encode("secret")));
+        } finally {
+            encoder.shutdown();
+        }
+    }
+
+    @Test
+    void rejects_immediately_when_pool_and_queue_are_full() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder slow = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return true;
+            }
+        };
+        // one thread, no waiting room
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(slow, 1, 0, 5_000);
+        try {
+            CompletableFuture<String> busy = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            assertThrows(TooManyRequestsException.class, () -> encoder.encode("second"));
+
+            release.countDown();
+            assertEquals("hash", busy.get(5, TimeUnit.SECONDS));
+        } finally {
+            encoder.shutdown();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package SpectraSystems.Nexus.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstrumentedDataSourceTest {
+
+    @Test
+    void normalize_collapsesLiteralsAndInLists() {
+        assertEquals("select * from t1_0 where id in (?) and name=? and age>?",
+                InstrumentedDataSource.normalize("SELECT *\n  FROM t1_0 WHERE id IN (?, ?, ?) AND name='O''Brien' AND age>42"));
+    }
+
+    @Test
+    void parse_tagsOperationAndFirstTable() {
+        assertEquals(new InstrumentedDataSource.Tags("select", "flight"),
+                InstrumentedDataSource.parse("select f1_0.id from flight f1_0 join ticket t1_0 on f1_0.id=t1_0.flight_id"));
+        assertEquals(new InstrumentedDataSource.Tags("update", "nexus_user"),
+                InstrumentedDataSource.parse("UPDATE \"NEXUS_USER\" SET age=? WHERE id=?"));
+        assertEquals(new InstrumentedDataSource.Tags("delete", "comments"),
+                InstrumentedDataSource.parse("delete from comments where id=?"));
+    }
+
+    @Test
+    void recordsTimerPerTable_andCountsStatementsOnThread() throws Exception {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:instrumented;DB_CLOSE_DELAY=-1");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        InstrumentedDataSource dataSource = new InstrumentedDataSource(h2, () -> registry, 0, 100);
+
+        InstrumentedDataSource.resetStatementCount();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("create table probe (id int primary key)");
+            for (int i = 0; i < 3; i++) {
+                try (PreparedStatement insert = connection.prepareStatement("insert into probe (id) values (?)")) {
+                    insert.setInt(1, i);
+                    insert.executeUpdate();
+                }
+            }
+        }
+
+        assertEquals(4, InstrumentedDataSource.statementCount());
+        assertEquals(3, registry.get(InstrumentedDataSource.TIMER_NAME)
+                .tag("table", "probe")
+                .tag("operation", "insert")
+                .timer().count());
+    }
+}
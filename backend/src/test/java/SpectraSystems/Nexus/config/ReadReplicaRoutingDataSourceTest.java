@@ -0,0 +1,144 @@
+package SpectraSystems.Nexus.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import SpectraSystems.Nexus.config.ReadReplicaRoutingDataSource.Target;
+
+import jakarta.persistence.EntityManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReadReplicaRoutingDataSourceTest {
+
+    private static final String SERVICE_READ = "SpectraSystems.Nexus.services.FlightService.getAllFlightsByUserId";
+    private static final String REPOSITORY_READ = "org.springframework.data.jpa.repository.support.SimpleJpaRepository.findById";
+
+    private ReadReplicaRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource primary = new JdbcDataSource();
+        primary.setURL("jdbc:h2:mem:primary");
+        JdbcDataSource replica = new JdbcDataSource();
+        replica.setURL("jdbc:h2:mem:replica");
+        dataSource = new ReadReplicaRoutingDataSource(primary, replica, 60_000, 2);
+        dataSource.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void withoutTransaction_routesToPrimary() {
+        assertEquals(Target.PRIMARY, dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void readOnlyServiceTransaction_routesToReplica() {
+        begin(SERVICE_READ, true);
+        assertEquals(Target.REPLICA, dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void readOnlyRepositoryDefaultTransaction_staysOnPrimary() {
+        begin(REPOSITORY_READ, true);
+        assertEquals(Target.PRIMARY, dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void afterOwnWrite_readsStickToPrimary_otherUsersStillUseReplica() {
+        login("writer@nexus.com");
+        begin("SpectraSystems.Nexus.services.FlightService.purchaseTickets", false);
+        assertEquals(Target.PRIMARY, dataSource.determineCurrentLookupKey());
+        TransactionSynchronizationManager.clear();
+
+        begin(SERVICE_READ, true);
+        assertEquals(Target.PRIMARY, dataSource.determineCurrentLookupKey());
+        TransactionSynchronizationManager.clear();
+
+        login("reader@nexus.com");
+        begin(SERVICE_READ, true);
+        assertEquals(Target.REPLICA, dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void replicaRead_doesNotPutIntoSecondLevelCache_untilTheTransactionEnds() {
+        Session session = mock(Session.class);
+        when(session.getCacheMode()).thenReturn(CacheMode.NORMAL);
+        when(session.isOpen()).thenReturn(true);
+        EntityManager entityManager = mock(EntityManager.class);
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+        Object key = new Object();
+        TransactionSynchronizationManager.bindResource(key, new EntityManagerHolder(entityManager));
+        try {
+            begin(SERVICE_READ, true);
+            TransactionSynchronizationManager.initSynchronization();
+            assertEquals(Target.REPLICA, dataSource.determineCurrentLookupKey());
+            verify(session).setCacheMode(CacheMode.GET);
+
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+            verify(session).setCacheMode(CacheMode.NORMAL);
+        } finally {
+            TransactionSynchronizationManager.unbindResource(key);
+        }
+    }
+
+    @Test
+    void primaryRead_keepsTheSessionCacheMode() {
+        Session session = mock(Session.class);
+        EntityManager entityManager = mock(EntityManager.class);
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+        Object key = new Object();
+        TransactionSynchronizationManager.bindResource(key, new EntityManagerHolder(entityManager));
+        try {
+            begin(REPOSITORY_READ, true);
+            TransactionSynchronizationManager.initSynchronization();
+            assertEquals(Target.PRIMARY, dataSource.determineCurrentLookupKey());
+            verify(session, never()).setCacheMode(any());
+        } finally {
+            TransactionSynchronizationManager.unbindResource(key);
+        }
+    }
+
+    @Test
+    void stickyUsers_areBounded() {
+        for (String user : new String[] {"a@nexus.com", "b@nexus.com", "c@nexus.com"}) {
+            login(user);
+            begin("SpectraSystems.Nexus.services.UserService.updateUser", false);
+            dataSource.determineCurrentLookupKey();
+            TransactionSynchronizationManager.clear();
+        }
+        assertTrue(dataSource.stickyUsers() <= 2);
+    }
+
+    private static void begin(String name, boolean readOnly) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionName(name);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    private static void login(String email) {
+        TestingAuthenticationToken authentication = new TestingAuthenticationToken(email, null, "ROLE_USER");
+        authentication.setAuthenticated(true);
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+}
@@ -0,0 +1,43 @@
+package SpectraSystems.Nexus.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.core.metrics.StartupStep;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StartupTimelineMetricsTest {
+
+    @Test
+    void records_phase_and_slowest_bean_gauges_without_double_counting_nested_beans() throws Exception {
+        BufferingApplicationStartup startup = new BufferingApplicationStartup(100);
+        StartupStep refresh = startup.start("spring.context.refresh");
+        StartupStep outer = startup.start(StartupTimelineMetrics.BEAN_STEP).tag("beanName", "outer");
+        StartupStep inner = startup.start(StartupTimelineMetrics.BEAN_STEP).tag("beanName", "inner");
+        Thread.sleep(5);
+        inner.end();
+        outer.end();
+        refresh.end();
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        StartupTimelineMetrics metrics = new StartupTimelineMetrics(registry);
+        metrics.topBeans = 1;
+        StartupTimeline timeline = startup.getBufferedTimeline();
+        metrics.record(timeline);
+
+        double outerSeconds = timeline.getEvents().stream()
+                .filter(e -> e.getStartupStep().getId() == outer.getId())
+                .findFirst().orElseThrow()
+                .getDuration().toNanos() / 1_000_000_000.0;
+
+        Gauge beans = registry.get("nexus.startup.phase.duration").tag("phase", StartupTimelineMetrics.BEAN_STEP).gauge();
+        assertEquals(outerSeconds, beans.value(), 1e-9);
+        assertNotNull(registry.find("nexus.startup.phase.duration").tag("phase", "spring.context.refresh").gauge());
+
+        assertEquals(1, registry.find("nexus.startup.bean.duration").gauges().size());
+        assertNotNull(registry.find("nexus.startup.bean.duration").tag("bean", "outer").gauge());
+    }
+}
@@ -0,0 +1,37 @@
+package SpectraSystems.Nexus.config;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.apache.coyote.http11.Http11NioProtocol;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadConfigTest {
+
+    @SuppressWarnings("unchecked")
+    private Http11NioProtocol customize(MockEnvironment environment) {
+        Http11NioProtocol protocol = new Http11NioProtocol();
+        ((TomcatProtocolHandlerCustomizer<Http11NioProtocol>) new VirtualThreadConfig()
+                .virtualThreadProtocolHandlerCustomizer(environment)).customize(protocol);
+        return protocol;
+    }
+
+    @Test
+    void enabled_at_runtime_runs_requests_on_virtual_threads() throws Exception {
+        Executor executor = customize(new MockEnvironment().withProperty(VirtualThreadConfig.ENABLED, "true")).getExecutor();
+        assertNotNull(executor);
+
+        CompletableFuture<Boolean> virtual = new CompletableFuture<>();
+        executor.execute(() -> virtual.complete(Thread.currentThread().isVirtual()));
+        assertTrue(virtual.get());
+    }
+
+    @Test
+    void disabled_leaves_tomcat_its_own_pool() {
+        assertNull(customize(new MockEnvironment()).getExecutor());
+    }
+}
@@ -0,0 +1,54 @@
+package SpectraSystems.Nexus.config;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final Object lock = new Object();
+
+    private void sleepWhileHoldingMonitor() {
+        synchronized (lock) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Test
+    void disabled_unless_virtual_threads_are_on() {
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(new SimpleMeterRegistry());
+        monitor.start();
+        assertFalse(monitor.isRunning());
+    }
+
+    @Test
+    void times_pinned_virtual_threads_by_culprit_frame() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(registry);
+        monitor.virtualThreadsEnabled = true;
+        monitor.thresholdMs = 10;
+        monitor.start();
+        try {
+            Thread.ofVirtual().start(this::sleepWhileHoldingMonitor).join();
+
+            // JFR hands events to the stream about once a second
+            Timer timer = null;
+            for (int i = 0; i < 100 && timer == null; i++) {
+                Thread.sleep(100);
+                timer = registry.find("nexus.virtualthreads.pinned").timer();
+            }
+            assertNotNull(timer, "no pinning event was reported");
+            assertEquals(VirtualThreadPinningMonitorTest.class.getName() + ".sleepWhileHoldingMonitor",
+                    timer.getId().getTag("frame"));
+        } finally {
+            monitor.stop();
+        }
+        assertFalse(monitor.isRunning());
+    }
+}
@@ -1,5 +1,6 @@
 package SpectraSystems.Nexus.controllers;
 
+import SpectraSystems.Nexus.dto.CachedJson;
 import SpectraSystems.Nexus.filters.JwtAuthenticationFilter;
 import SpectraSystems.Nexus.models.Aboutus;
 import SpectraSystems.Nexus.services.AboutUsService;
@@ -11,6 +12,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
 
@@ -45,16 +47,33 @@ class AboutUsControllerWebTest {
 
     @Test
     void getAboutUsById_found_and_notFound() throws Exception {
-        when(aboutUsService.findById(1L)).thenReturn(Optional.of(new Aboutus()));
-        when(aboutUsService.findById(99L)).thenReturn(Optional.empty());
+        when(aboutUsService.findSerializedById(1L)).thenReturn(Optional.of(json("{\"id\":1}", "\"abc\"")));
+        when(aboutUsService.findSerializedById(99L)).thenReturn(Optional.empty());
 
         mvc.perform(get("/aboutus/{id}", 1L).accept(APPLICATION_JSON))
-           .andExpect(status().isOk());
+           .andExpect(status().isOk())
+           .andExpect(content().contentTypeCompatibleWith(APPLICATION_JSON))
+           .andExpect(content().string("{\"id\":1}"))
+           .andExpect(header().string("ETag", "\"abc\""))
+           .andExpect(header().string("Cache-Control", "max-age=60, public"));
 
         mvc.perform(get("/aboutus/{id}", 99L).accept(APPLICATION_JSON))
            .andExpect(status().isNotFound());
     }
 
+    @Test
+    void getAboutUsById_notModified_whenEtagMatches() throws Exception {
+        when(aboutUsService.findSerializedById(1L)).thenReturn(Optional.of(json("{\"id\":1}", "\"abc\"")));
+
+        mvc.perform(get("/aboutus/{id}", 1L).header("If-None-Match", "\"abc\""))
+           .andExpect(status().isNotModified())
+           .andExpect(content().string(""));
+    }
+
+    private static CachedJson json(String body, String etag) {
+        return new CachedJson(body.getBytes(StandardCharsets.UTF_8), etag);
+    }
+
     @Test
     void createOrUpdateAboutUs_created() throws Exception {
         when(aboutUsService.saveOrUpdate(any(Aboutus.class))).thenReturn(new Aboutus());
@@ -3,6 +3,7 @@ package SpectraSystems.Nexus.controllers;
 
 import SpectraSystems.Nexus.dto.JwtAuthenticationResponse;
 import SpectraSystems.Nexus.services.AuthenticationService;
+import SpectraSystems.Nexus.services.TokenRevocationService;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -22,6 +23,9 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -30,6 +34,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 class AuthenticationControllerStandaloneTest {
 
     @Mock private AuthenticationService authenticationService;
+    @Mock private TokenRevocationService tokenRevocationService;
 
     // We directly construct the controller (no Spring context)
     @InjectMocks private AuthenticationController controller;
@@ -76,4 +81,20 @@ class AuthenticationControllerStandaloneTest {
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.token").value("JWT-SIGNUP"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void logout_revokesBearerToken() throws Exception {
+        mockMvc.perform(post("/auth/logout").header("Authorization", "Bearer JWT-OUT"))
+            .andExpect(status().isNoContent());
+
+        verify(tokenRevocationService).revoke("JWT-OUT");
+    }
+
+    @Test
+    void logout_withoutBearer_returns400() throws Exception {
+        mockMvc.perform(post("/auth/logout"))
+            .andExpect(status().isBadRequest());
+
+        verify(tokenRevocationService, never()).revoke(anyString());
+    }
+}
@@ -1,5 +1,6 @@
 package SpectraSystems.Nexus.controllers;
 
+import SpectraSystems.Nexus.dto.CommentPage;
 import SpectraSystems.Nexus.filters.JwtAuthenticationFilter;
 import SpectraSystems.Nexus.models.Comment;
 import SpectraSystems.Nexus.services.CommentService;
@@ -90,4 +91,28 @@ class CommentControllerWebTest {
 
         verify(commentService).deleteComment(5L);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getCommentTree_ok() throws Exception {
+        when(commentService.getCommentTree(5L)).thenReturn(List.of(new Comment()));
+
+        mvc.perform(get("/comments/flight/{flightId}/tree", 5L).accept(APPLICATION_JSON))
+           .andExpect(status().isOk())
+           .andExpect(jsonPath("$.length()").value(1));
+
+        verify(commentService).getCommentTree(5L);
+    }
+
+    @Test
+    void getCommentPage_passes_cursor_limit_and_replies() throws Exception {
+        when(commentService.getCommentPage(5L, "abc", 10, 2))
+                .thenReturn(CommentPage.builder().comments(List.of(new Comment())).nextCursor("def").build());
+
+        mvc.perform(get("/comments/flight/{flightId}", 5L)
+                .param("cursor", "abc").param("limit", "10").param("replies", "2")
+                .accept(APPLICATION_JSON))
+           .andExpect(status().isOk())
+           .andExpect(jsonPath("$.nextCursor").value("def"))
+           .andExpect(jsonPath("$.comments.length()").value(1));
+    }
+}
@@ -0,0 +1,224 @@
+package SpectraSystems.Nexus.controllers;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import SpectraSystems.Nexus.models.Comment;
+import SpectraSystems.Nexus.models.Flight;
+import SpectraSystems.Nexus.models.Reservation;
+import SpectraSystems.Nexus.models.Role;
+import SpectraSystems.Nexus.models.TicketPurchase;
+import SpectraSystems.Nexus.models.User;
+import SpectraSystems.Nexus.repositories.CommentRepository;
+import SpectraSystems.Nexus.repositories.FlightRepository;
+import SpectraSystems.Nexus.repositories.ReservationRepository;
+import SpectraSystems.Nexus.repositories.TicketPurchaseRepository;
+import SpectraSystems.Nexus.repositories.UserRepository;
+import SpectraSystems.Nexus.testsupport.StatementCounter;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * Statements per endpoint call, through the real services and repositories on H2:
+ * a query issued per row (N+1) fails here before it reaches production.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = Replace.ANY)
+class EndpointQueryCountTest {
+
+    @Autowired MockMvc mvc;
+    @Autowired UserRepository userRepository;
+    @Autowired FlightRepository flightRepository;
+    @Autowired TicketPurchaseRepository ticketPurchaseRepository;
+    @Autowired ReservationRepository reservationRepository;
+    @Autowired CommentRepository commentRepository;
+
+    @MockBean JavaMailSender mailSender;
+
+    private final List<User> users = new ArrayList<>();
+    private int nextTicketId = 1;
+
+    @BeforeEach
+    void setUp() {
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ticketPurchaseRepository.deleteAll();
+        flightRepository.deleteAll();
+        reservationRepository.deleteAll();
+        commentRepository.deleteAll();
+        userRepository.deleteAll(users);
+    }
+
+    @Test
+    void flight_history_is_constant_in_the_number_of_flights() throws Exception {
+        User oneFlight = persistUser("history-one");
+        User fourFlights = persistUser("history-four");
+        bookFlights(oneFlight, 1, "history-one");
+        bookFlights(fourFlights, 4, "history-four");
+
+        int small = StatementCounter.count(() -> mvc.perform(get("/flights/user/{userId}", oneFlight.getId()))
+                .andExpect(status().isOk()));
+        int large = StatementCounter.count(() -> mvc.perform(get("/flights/user/{userId}", fourFlights.getId()))
+                .andExpect(status().isOk()));
+
+        // Flights and their tickets in one join (Flight.WITH_TICKETS), nothing lazy left for serialization
+        StatementCounter.assertGrowthPerRow(0, 1, small, 4, large);
+    }
+
+    @Test
+    void reservation_history_is_one_query() throws Exception {
+        User owner = persistUser("reservations");
+        reserve(owner, 3, "reservations");
+
+        StatementCounter.assertMaxStatements(1, () -> mvc.perform(get("/reservations/user/{userId}", owner.getId()))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void ticket_cancellation_costs_an_update_and_an_email_lookup_per_cancelled_row() throws Exception {
+        User owner = persistUser("ticket-cancel");
+        Flight smallBundle = bookFlights(owner, 1, "ticket-small").get(0);
+        reserve(owner, 1, "ticket-small");
+        Flight largeBundle = bookFlights(owner, 4, "ticket-large").get(0);
+        reserve(owner, 4, "ticket-large");
+
+        int small = StatementCounter.count(() -> mvc.perform(put("/flights/deactivateTicket/{id}", smallBundle.getId()))
+                .andExpect(status().isOk()));
+        int large = StatementCounter.count(() -> mvc.perform(put("/flights/deactivateTicket/{id}", largeBundle.getId()))
+                .andExpect(status().isOk()));
+
+        // 2 and 8 flights plus reservations in the bundle
+        StatementCounter.assertGrowthPerRow(2, 2, small, 8, large);
+    }
+
+    @Test
+    void reservation_cancellation_costs_an_update_and_an_email_lookup_per_bundled_flight() throws Exception {
+        User owner = persistUser("reservation-cancel");
+        bookFlights(owner, 1, "reservation-small");
+        Reservation smallBundle = reserve(owner, 1, "reservation-small").get(0);
+        bookFlights(owner, 4, "reservation-large");
+        Reservation largeBundle = reserve(owner, 1, "reservation-large").get(0);
+
+        int small = StatementCounter.count(() -> mvc.perform(
+                        put("/reservations/cancel/{id}", smallBundle.getReservationNumber()))
+                .andExpect(status().isOk()));
+        int large = StatementCounter.count(() -> mvc.perform(
+                        put("/reservations/cancel/{id}", largeBundle.getReservationNumber()))
+                .andExpect(status().isOk()));
+
+        StatementCounter.assertGrowthPerRow(2, 1, small, 4, large);
+    }
+
+    @Test
+    void comment_page_with_replies_is_two_queries_and_tree_is_one() throws Exception {
+        long flightId = 4242L;
+        for (int i = 0; i < 3; i++) {
+            Comment parent = comment(flightId, null);
+            for (int r = 0; r < 2; r++) {
+                comment(flightId, parent.getId());
+            }
+        }
+
+        // Top-level page, then the replies of the whole page in one IN query
+        StatementCounter.assertMaxStatements(2, () -> mvc.perform(get("/comments/flight/{flightId}", flightId)
+                        .param("replies", "5")
+                        .with(user("reader").roles("USER")))
+                .andExpect(status().isOk()));
+        StatementCounter.assertMaxStatements(1, () -> mvc.perform(get("/comments/flight/{flightId}/tree", flightId)
+                        .with(user("reader").roles("USER")))
+                .andExpect(status().isOk()));
+    }
+
+    private User persistUser(String name) {
+        User user = userRepository.save(User.builder()
+                .first_Name(name)
+                .last_Name("Query")
+                .email(name + "-" + UUID.randomUUID() + "@nexus.test")
+                .password("password")
+                .role(Role.ROLE_USER)
+                .build());
+        users.add(user);
+        return user;
+    }
+
+    private List<Flight> bookFlights(User owner, int flights, String bundle) {
+        List<Flight> booked = new ArrayList<>();
+        for (int i = 0; i < flights; i++) {
+            Flight flight = flightRepository.save(Flight.builder()
+                    .userid(owner.getId())
+                    .flightNumber("QC" + i)
+                    .departureDate(new Date())
+                    .departureLocation("Spain")
+                    .arrivalLocation("Guatemala")
+                    .purchaseDate(LocalDate.now())
+                    .type("tourist")
+                    .price(20D)
+                    .state("active")
+                    .bundle(bundle)
+                    .build());
+            for (int t = 0; t < 2; t++) {
+                ticketPurchaseRepository.save(new TicketPurchase(nextTicketId++, owner.getId().intValue(),
+                        flight.getId().intValue(), "tourist", "active"));
+            }
+            booked.add(flight);
+        }
+        return booked;
+    }
+
+    private List<Reservation> reserve(User owner, int reservations, String bundle) {
+        List<Reservation> reserved = new ArrayList<>();
+        for (int i = 0; i < reservations; i++) {
+            reserved.add(reservationRepository.save(Reservation.builder()
+                    .userid(owner.getId())
+                    .hotelId("H1")
+                    .hotel("Hotel")
+                    .dateStart(new Date())
+                    .dateEnd(new Date())
+                    .location("Spain")
+                    .reservationNumber(bundle + "-" + i)
+                    .price(20D)
+                    .guests(2)
+                    .state("active")
+                    .bundle(bundle)
+                    .build()));
+        }
+        return reserved;
+    }
+
+    private Comment comment(long flightId, Long parentId) {
+        Comment comment = new Comment();
+        comment.setUserId(1L);
+        comment.setUserName("reader");
+        comment.setContent("comment");
+        comment.setFlightId(flightId);
+        comment.setParentComment(parentId);
+        return commentRepository.save(comment);
+    }
+}
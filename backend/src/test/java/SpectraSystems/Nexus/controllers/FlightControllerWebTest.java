@@ -116,6 +116,20 @@ class FlightControllerWebTest {
            .andExpect(status().isOk());
     }
 
+    @Test
+    void one_way_search_negotiates_cbor() throws Exception {
+        when(flightService.getOneWayFlightsFromOtherBackend(1L, 2L, "2025-09-01", 2))
+                .thenReturn(List.of());
+        mvc.perform(get("/flights/avianca/one-way-flights")
+                .accept(MediaType.APPLICATION_CBOR)
+                .param("originCity", "1")
+                .param("destinationCity", "2")
+                .param("departureDay", "2025-09-01")
+                .param("passengers", "2"))
+           .andExpect(status().isOk())
+           .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR));
+    }
+
    @Test
    void cities_ok() throws Exception {
       when(flightService.getAllCitiesFromOtherBackend()).thenReturn(List.of());
@@ -171,8 +185,7 @@ class FlightControllerWebTest {
                 .purchaseFlight(eq(2), eq("card"), eq(77L), any(FlightPurchaseRequest.class));
 
         // email plumbing
-        when(userService.getUserById(7L)).thenReturn(Optional.of(User.builder()
-                .id(7L).email("user@example.com").build()));
+        when(userService.getUserEmail(7L)).thenReturn(Optional.of("user@example.com"));
         when(emailSender.createMimeMessage()).thenReturn(new MimeMessage((Session) null));
         doNothing().when(emailSender).send(any(MimeMessage.class));
 
@@ -222,7 +235,7 @@ class FlightControllerWebTest {
         r.setUser(7L);
         when(reservationRepository.findByBundle("BUNDLE1")).thenReturn(List.of(r));
 
-        when(userService.getUserById(7L)).thenReturn(Optional.of(User.builder().id(7L).email("u@e.com").build()));
+        when(userService.getUserEmail(7L)).thenReturn(Optional.of("u@e.com"));
         when(emailSender.createMimeMessage()).thenReturn(new MimeMessage((Session) null));
 
         mvc.perform(put("/flights/deactivate/{flightNumber}", "AA100"))
@@ -253,7 +266,7 @@ class FlightControllerWebTest {
         when(flightRepository.findByBundle("BUN-X")).thenReturn(List.of(f));
         when(reservationRepository.findByBundle("BUN-X")).thenReturn(List.of());
 
-        when(userService.getUserById(7L)).thenReturn(Optional.of(User.builder().id(7L).email("u@e.com").build()));
+        when(userService.getUserEmail(7L)).thenReturn(Optional.of("u@e.com"));
         when(emailSender.createMimeMessage()).thenReturn(new MimeMessage((Session) null));
 
         mvc.perform(put("/flights/deactivateTicket/{id}", 10))
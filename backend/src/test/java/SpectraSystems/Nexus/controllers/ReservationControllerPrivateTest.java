@@ -1,6 +1,5 @@
 package SpectraSystems.Nexus.controllers;
 
-import SpectraSystems.Nexus.models.User;
 import SpectraSystems.Nexus.services.ReservationService;
 import SpectraSystems.Nexus.services.UserService;
 import jakarta.mail.Session;
@@ -51,8 +50,8 @@ class ReservationControllerPrivateTest {
 
     @Test
     void sendPurchaseConfirmationEmail_happyPath_sendsEmail() throws Exception {
-        when(userService.getUserById(7L))
-                .thenReturn(Optional.of(User.builder().id(7L).email("u@example.com").build()));
+        when(userService.getUserEmail(7L))
+                .thenReturn(Optional.of("u@example.com"));
         when(emailSender.createMimeMessage())
                 .thenReturn(new MimeMessage((Session) null));
 
@@ -63,7 +62,7 @@ class ReservationControllerPrivateTest {
 
     @Test
     void sendPurchaseConfirmationEmail_userNotFound_throws_andDoesNotSend() throws Exception {
-        when(userService.getUserById(99L)).thenReturn(Optional.empty());
+        when(userService.getUserEmail(99L)).thenReturn(Optional.empty());
 
         Exception toThrow;
         try {
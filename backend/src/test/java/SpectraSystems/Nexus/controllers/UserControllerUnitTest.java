@@ -1,6 +1,9 @@
 package SpectraSystems.Nexus.controllers;
 
+import SpectraSystems.Nexus.dto.UserSummary;
+import SpectraSystems.Nexus.models.Role;
 import SpectraSystems.Nexus.models.User;
+import SpectraSystems.Nexus.services.UserImportService;
 import SpectraSystems.Nexus.services.UserService;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -11,8 +14,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 
 import java.util.List;
 import java.util.Optional;
@@ -27,6 +34,9 @@ class UserControllerUnitTest {
     @Mock
     UserService userService;
 
+    @Mock
+    UserImportService userImportService;
+
     @InjectMocks
     UserController controller;
 
@@ -59,6 +69,50 @@ class UserControllerUnitTest {
         assertEquals(HttpStatus.NOT_FOUND, notFound.getStatusCode());
     }
 
+    @Test
+    void getUserSummaries_ok() {
+        Page<UserSummary> page = new PageImpl<>(List.of(new UserSummary(1L, "Ana", "Lopez", "a@b.com", Role.ROLE_USER)));
+        when(userService.getUserSummaries(0, 20)).thenReturn(page);
+
+        ResponseEntity<Page<UserSummary>> resp = controller.getUserSummaries(0, 20);
+
+        assertEquals(HttpStatus.OK, resp.getStatusCode());
+        assertSame(page, resp.getBody());
+        verify(userService, never()).getAllUsers();
+    }
+
+    @Test
+    void getUserSummaryById_found_and_notFound() {
+        when(userService.getUserSummaryById(42L))
+                .thenReturn(Optional.of(new UserSummary(42L, "Ana", "Lopez", "a@b.com", Role.ROLE_USER)));
+        when(userService.getUserSummaryById(99L)).thenReturn(Optional.empty());
+
+        assertEquals(HttpStatus.OK, controller.getUserSummaryById(42L).getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, controller.getUserSummaryById(99L).getStatusCode());
+    }
+
+    @Test
+    void importUsers_dispatches_on_content_type() throws Exception {
+        MockHttpServletRequest csv = new MockHttpServletRequest("POST", "/users/import");
+        csv.setContentType("text/csv");
+        csv.setContent("email,password\n".getBytes());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.importUsers(csv, response);
+
+        verify(userImportService).importCsv(any(), any());
+        verify(userImportService, never()).importJson(any(), any());
+        assertEquals("application/x-ndjson", response.getContentType().split(";")[0]);
+
+        MockHttpServletRequest json = new MockHttpServletRequest("POST", "/users/import");
+        json.setContentType("application/json");
+        json.setContent("[]".getBytes());
+
+        controller.importUsers(json, new MockHttpServletResponse());
+
+        verify(userImportService).importJson(any(), any());
+    }
+
     @Test
     void createUser_created() {
         when(userService.createUser(any(User.class))).thenReturn(new User());
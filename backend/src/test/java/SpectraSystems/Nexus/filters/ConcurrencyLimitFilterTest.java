@@ -0,0 +1,89 @@
+package SpectraSystems.Nexus.filters;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.FilterChain;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimitFilterTest {
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/nexus" + uri);
+        request.setContextPath("/nexus");
+        return request;
+    }
+
+    @Test
+    void groups_endpoints() {
+        assertThat(ConcurrencyLimitFilter.group(request("GET", "/flights/avianca/one-way-flights"))).isEqualTo("search");
+        assertThat(ConcurrencyLimitFilter.group(request("GET", "/reservations/hotelsearch"))).isEqualTo("search");
+        assertThat(ConcurrencyLimitFilter.group(request("POST", "/flights/purchase/1/card/2"))).isEqualTo("booking");
+        assertThat(ConcurrencyLimitFilter.group(request("PUT", "/reservations/cancel/5"))).isEqualTo("booking");
+        assertThat(ConcurrencyLimitFilter.group(request("GET", "/users/summary"))).isEqualTo("admin");
+        assertThat(ConcurrencyLimitFilter.group(request("DELETE", "/providers/3"))).isEqualTo("admin");
+        assertThat(ConcurrencyLimitFilter.group(request("GET", "/providers"))).isNull();
+        assertThat(ConcurrencyLimitFilter.group(request("POST", "/users/import"))).isNull();
+        assertThat(ConcurrencyLimitFilter.group(request("GET", "/actuator/health"))).isNull();
+    }
+
+    @Test
+    void sheds_with_503_and_retry_after_when_group_is_full() throws Exception {
+        AimdConcurrencyLimiter search = new AimdConcurrencyLimiter("search", 1, 1, 1, 1000, 0.9);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(Map.of("search", search), 2, registry);
+
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+        FilterChain chain = (req, res) -> {
+            // a second search arrives while the first one is still being served
+            MockHttpServletResponse second = new MockHttpServletResponse();
+            filter.doFilter(request("GET", "/flights/avianca/flights"), second, (r, s) -> { });
+            nested.set(second);
+        };
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        filter.doFilter(request("GET", "/flights/avianca/flights"), first, chain);
+
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(nested.get().getStatus()).isEqualTo(503);
+        assertThat(nested.get().getHeader("Retry-After")).isEqualTo("2");
+        assertThat(registry.get("nexus.concurrency.rejected").tag("group", "search").counter().count()).isEqualTo(1.0);
+        assertThat(search.getInflight()).isZero();
+    }
+
+    @Test
+    void limiter_grows_when_busy_and_backs_off_on_slow_responses() {
+        AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter("search", 10, 2, 20, 100, 0.5);
+        long fast = TimeUnit.MILLISECONDS.toNanos(10);
+        long slow = TimeUnit.MILLISECONDS.toNanos(500);
+        long now = System.nanoTime();
+
+        // fast responses with the limit barely used do not raise it
+        limiter.onSample(fast, false, 1, now);
+        assertThat(limiter.getLimit()).isEqualTo(10);
+
+        for (int i = 0; i < 40; i++) {
+            limiter.onSample(fast, false, 10, now);
+        }
+        assertThat(limiter.getLimit()).isGreaterThan(10);
+        int grown = limiter.getLimit();
+
+        limiter.onSample(slow, false, 10, now);
+        assertThat(limiter.getLimit()).isEqualTo((int) (grown * 0.5));
+
+        // same window: other slow responses do not compound the decrease
+        limiter.onSample(slow, false, 10, now + TimeUnit.MILLISECONDS.toNanos(10));
+        assertThat(limiter.getLimit()).isEqualTo((int) (grown * 0.5));
+
+        for (int i = 1; i <= 10; i++) {
+            limiter.onSample(0, true, 10, now + TimeUnit.MILLISECONDS.toNanos(100L * i + 100));
+        }
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+}
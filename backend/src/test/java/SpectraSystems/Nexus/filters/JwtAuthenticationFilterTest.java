@@ -1,6 +1,9 @@
 package SpectraSystems.Nexus.filters;
 
+import SpectraSystems.Nexus.models.Role;
+import SpectraSystems.Nexus.services.CredentialVersionRegistry;
 import SpectraSystems.Nexus.services.JwtService;
+import SpectraSystems.Nexus.services.TokenRevocationService;
 import SpectraSystems.Nexus.services.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,6 +17,10 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 
 import jakarta.servlet.FilterChain;
 
@@ -28,6 +35,8 @@ class JwtAuthenticationFilterTest {
     @Mock UserService userService;
     @Mock UserDetailsService userDetailsService;
     @Mock FilterChain chain;
+    @Mock CredentialVersionRegistry credentialVersionRegistry;
+    @Mock TokenRevocationService tokenRevocationService;
 
     JwtAuthenticationFilter filter;
 
@@ -127,4 +136,94 @@ class JwtAuthenticationFilterTest {
         verify(userService, never()).userDetailsService();
         verify(jwtService, never()).isTokenValid(anyString(), any());
     }
-}
\ No newline at end of file
+
+    @Test
+    void statelessMode_authenticatesFromClaims_withoutLoadingUser() throws Exception {
+        String token = "stateless.token";
+        req.addHeader("Authorization", "Bearer " + token);
+        ReflectionTestUtils.setField(filter, "credentialVersionRegistry", credentialVersionRegistry);
+
+        Claims claims = Jwts.claims().setSubject("alice@example.com");
+        SpectraSystems.Nexus.models.User principal = SpectraSystems.Nexus.models.User.builder()
+                .id(5L).email("alice@example.com").role(Role.ROLE_USER).credentialVersion(0L).build();
+
+        when(jwtService.isStatelessEnabled()).thenReturn(true);
+        when(jwtService.verifyToken(token)).thenReturn(claims);
+        when(jwtService.userFromClaims(claims)).thenReturn(principal);
+        when(credentialVersionRegistry.isKnown(5L)).thenReturn(true);
+        when(credentialVersionRegistry.isCurrent(5L, 0L)).thenReturn(true);
+
+        filter.doFilter(req, res, chain);
+
+        verify(chain).doFilter(req, res);
+        var auth = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(auth.getPrincipal()).isEqualTo(principal);
+        assertThat(auth.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+        verify(userService, never()).userDetailsService();
+    }
+
+    @Test
+    void statelessMode_rejectsRevokedCredentialVersion() throws Exception {
+        String token = "revoked.token";
+        req.addHeader("Authorization", "Bearer " + token);
+        ReflectionTestUtils.setField(filter, "credentialVersionRegistry", credentialVersionRegistry);
+
+        Claims claims = Jwts.claims().setSubject("alice@example.com");
+        SpectraSystems.Nexus.models.User principal = SpectraSystems.Nexus.models.User.builder()
+                .id(5L).email("alice@example.com").role(Role.ROLE_ADMIN).credentialVersion(1L).build();
+
+        when(jwtService.isStatelessEnabled()).thenReturn(true);
+        when(jwtService.verifyToken(token)).thenReturn(claims);
+        when(jwtService.userFromClaims(claims)).thenReturn(principal);
+        when(credentialVersionRegistry.isKnown(5L)).thenReturn(true);
+        when(credentialVersionRegistry.isCurrent(5L, 1L)).thenReturn(false);
+
+        filter.doFilter(req, res, chain);
+
+        verify(chain).doFilter(req, res);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verify(userService, never()).userDetailsService();
+    }
+
+    @Test
+    void statelessMode_fallsBackToDatabase_forUserUnknownToRegistry() throws Exception {
+        String token = "deleted.user.token";
+        req.addHeader("Authorization", "Bearer " + token);
+        ReflectionTestUtils.setField(filter, "credentialVersionRegistry", credentialVersionRegistry);
+
+        Claims claims = Jwts.claims().setSubject("gone@example.com");
+        SpectraSystems.Nexus.models.User principal = SpectraSystems.Nexus.models.User.builder()
+                .id(9L).email("gone@example.com").role(Role.ROLE_USER).credentialVersion(0L).build();
+
+        when(jwtService.isStatelessEnabled()).thenReturn(true);
+        when(jwtService.verifyToken(token)).thenReturn(claims);
+        when(jwtService.userFromClaims(claims)).thenReturn(principal);
+        when(credentialVersionRegistry.isKnown(9L)).thenReturn(false);
+        when(jwtService.extractUserName(token)).thenReturn("gone@example.com");
+        when(userService.userDetailsService()).thenReturn(userDetailsService);
+        when(userDetailsService.loadUserByUsername("gone@example.com")).thenReturn(principal);
+        when(jwtService.isTokenValid(token, principal)).thenReturn(false);
+
+        filter.doFilter(req, res, chain);
+
+        verify(chain).doFilter(req, res);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verify(credentialVersionRegistry, never()).isCurrent(anyLong(), anyLong());
+    }
+
+    @Test
+    void doesNotAuthenticate_whenTokenRevoked() throws Exception {
+        String token = "logged.out.token";
+        req.addHeader("Authorization", "Bearer " + token);
+        ReflectionTestUtils.setField(filter, "tokenRevocationService", tokenRevocationService);
+
+        when(tokenRevocationService.isRevoked(token)).thenReturn(true);
+
+        filter.doFilter(req, res, chain);
+
+        verify(chain).doFilter(req, res);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verify(jwtService, never()).extractUserName(anyString());
+        verify(userService, never()).userDetailsService();
+    }
+}
@@ -0,0 +1,77 @@
+package SpectraSystems.Nexus.filters;
+
+import SpectraSystems.Nexus.models.Role;
+import SpectraSystems.Nexus.models.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    SimpleMeterRegistry registry;
+    RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.clearContext();
+        registry = new SimpleMeterRegistry();
+        RateLimitFilter.Route search = new RateLimitFilter.Route("flight-search", "GET",
+                List.of("/flights/avianca/**"), new TokenBucketStore.Limit(2, 0.01));
+        filter = new RateLimitFilter(List.of(search), new TokenBucketStore(4, 100), registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private MockHttpServletResponse call(String method, String uri, String ip) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(ip);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    @Test
+    void throttles_per_ip_with_429_and_retry_after() throws Exception {
+        assertThat(call("GET", "/flights/avianca/flights", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(call("GET", "/nexus/flights/avianca/cities", "10.0.0.1").getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse throttled = call("GET", "/flights/avianca/flights", "10.0.0.1");
+        assertThat(throttled.getStatus()).isEqualTo(429);
+        assertThat(Long.parseLong(throttled.getHeader("Retry-After"))).isPositive();
+        assertThat(registry.get("nexus.ratelimit.throttled").tag("route", "flight-search").counter().count())
+                .isEqualTo(1.0);
+
+        // another client, other methods and other routes are unaffected
+        assertThat(call("GET", "/flights/avianca/flights", "10.0.0.2").getStatus()).isEqualTo(200);
+        assertThat(call("POST", "/flights/avianca/flights", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(call("GET", "/flights/7", "10.0.0.1").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void keys_authenticated_requests_by_user_id() throws Exception {
+        User user = User.builder().id(42L).email("u@e.com").role(Role.ROLE_USER).build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+
+        call("GET", "/flights/avianca/flights", "10.0.0.1");
+        call("GET", "/flights/avianca/flights", "10.0.0.2");
+        // same user from a third address: the bucket follows the user
+        assertThat(call("GET", "/flights/avianca/flights", "10.0.0.3").getStatus()).isEqualTo(429);
+
+        SecurityContextHolder.clearContext();
+        assertThat(call("GET", "/flights/avianca/flights", "10.0.0.3").getStatus()).isEqualTo(200);
+    }
+}
@@ -0,0 +1,118 @@
+package SpectraSystems.Nexus.filters;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TokenBucketStoreTest {
+
+    @Test
+    void allows_burst_then_refills_lazily() {
+        TokenBucketStore store = new TokenBucketStore(4, 100);
+        TokenBucketStore.Limit limit = new TokenBucketStore.Limit(3, 2.0);
+        long now = System.currentTimeMillis();
+
+        assertThat(store.tryConsume("k", limit, now)).isZero();
+        assertThat(store.tryConsume("k", limit, now)).isZero();
+        assertThat(store.tryConsume("k", limit, now)).isZero();
+        // 2 tokens per second: the next one is 500 ms away
+        assertThat(store.tryConsume("k", limit, now)).isEqualTo(500);
+
+        assertThat(store.tryConsume("k", limit, now + 499)).isEqualTo(1);
+        assertThat(store.tryConsume("k", limit, now + 500)).isZero();
+        // other clients have their own bucket
+        assertThat(store.tryConsume("other", limit, now + 500)).isZero();
+    }
+
+    @Test
+    void slow_rates_accumulate_across_frequent_calls() {
+        TokenBucketStore store = new TokenBucketStore(1, 10);
+        TokenBucketStore.Limit limit = new TokenBucketStore.Limit(1, 0.1);
+        long now = System.currentTimeMillis();
+
+        assertThat(store.tryConsume("k", limit, now)).isZero();
+        // polling every millisecond must not keep resetting the refill clock
+        for (long t = 1; t < 10_000; t++) {
+            assertThat(store.tryConsume("k", limit, now + t)).isPositive();
+        }
+        assertThat(store.tryConsume("k", limit, now + 10_000)).isZero();
+    }
+
+    @Test
+    void evicts_idle_buckets_to_stay_bounded() {
+        TokenBucketStore store = new TokenBucketStore(1, 10);
+        TokenBucketStore.Limit limit = new TokenBucketStore.Limit(1, 1.0);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 10; i++) {
+            store.tryConsume("client-" + i, limit, now);
+        }
+        // one second later every bucket is full again, so all of them may go
+        store.tryConsume("late", limit, now + 1_000);
+        assertThat(store.size()).isEqualTo(1);
+
+        for (int i = 0; i < 1_000; i++) {
+            store.tryConsume("burst-" + i, limit, now + 1_000);
+        }
+        assertThat(store.size()).isLessThanOrEqualTo(11);
+    }
+
+    @Test
+    void evicts_least_recently_refilled_buckets_when_none_is_idle() {
+        TokenBucketStore store = new TokenBucketStore(1, 4);
+        TokenBucketStore.Limit limit = new TokenBucketStore.Limit(5, 1.0);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 3; i++) {
+            store.tryConsume("old-" + i, limit, now);
+        }
+        store.tryConsume("hot", limit, now);
+        store.tryConsume("hot", limit, now + 500);
+
+        store.tryConsume("new", limit, now + 600);
+
+        assertThat(store.size()).isLessThanOrEqualTo(4);
+        // "hot" kept its history: 3.6 tokens left, where a fresh bucket would have 5
+        for (int i = 0; i < 3; i++) {
+            assertThat(store.tryConsume("hot", limit, now + 600)).isZero();
+        }
+        assertThat(store.tryConsume("hot", limit, now + 600)).isPositive();
+    }
+
+    @Test
+    void concurrent_consumers_never_exceed_capacity() throws Exception {
+        TokenBucketStore store = new TokenBucketStore(16, 1_000);
+        TokenBucketStore.Limit limit = new TokenBucketStore.Limit(100, 0.001);
+        long now = System.currentTimeMillis();
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < 8; t++) {
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < 100; i++) {
+                    if (store.tryConsume("shared", limit, now) == 0) {
+                        granted.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(granted.get()).isEqualTo(100);
+    }
+
+    @Test
+    void rejects_capacity_that_does_not_fit() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketStore.Limit(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketStore.Limit(20_000, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketStore.Limit(5, 0));
+    }
+}
@@ -0,0 +1,32 @@
+package SpectraSystems.Nexus.models;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RatingAggregateModelTest {
+
+    @Test
+    void flightTargetId_commentAndFlightNumber_mapToTheSameTarget() {
+        assertEquals("812", RatingAggregate.flightTargetId(812L));
+        assertEquals(RatingAggregate.flightTargetId(812L), RatingAggregate.flightTargetId("812"));
+        assertEquals(RatingAggregate.flightTargetId(812L), RatingAggregate.flightTargetId("0812"));
+        assertEquals(RatingAggregate.flightTargetId(812L), RatingAggregate.flightTargetId(" 812 "));
+    }
+
+    @Test
+    void flightTargetId_withoutProviderFlightId_isNull() {
+        assertNull(RatingAggregate.flightTargetId((Long) null));
+        assertNull(RatingAggregate.flightTargetId((String) null));
+        assertNull(RatingAggregate.flightTargetId("AA100"));
+    }
+
+    @Test
+    void toRating_averagesSumOverCount() {
+        RatingAggregate aggregate = new RatingAggregate(new RatingAggregate.Key(RatingAggregate.Target.FLIGHT, "812"), 4, 18, 7);
+
+        assertEquals(4.5, aggregate.toRating().getAverage());
+        assertEquals(4, aggregate.toRating().getCount());
+        assertEquals(0.0, new RatingAggregate().toRating().getAverage());
+    }
+}
@@ -1,5 +1,6 @@
 package SpectraSystems.Nexus.models;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.security.core.GrantedAuthority;
 
@@ -170,4 +171,17 @@ class UserModelTest {
         assertNull(u.getCreatedAt());
         assertNull(u.getUpdatedAt());
     }
-}
\ No newline at end of file
+
+    @Test
+    void json_accepts_password_but_never_writes_it() throws Exception {
+        ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+
+        User u = mapper.readValue("{\"email\":\"a@example.com\",\"password\":\"raw\"}", User.class);
+        String json = mapper.writeValueAsString(u);
+
+        assertEquals("raw", u.getPassword());
+        assertTrue(json.contains("a@example.com"));
+        assertFalse(json.contains("password"));
+        assertFalse(json.contains("raw"));
+    }
+}
@@ -0,0 +1,79 @@
+package SpectraSystems.Nexus.repositroy;
+
+import java.util.Date;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import SpectraSystems.Nexus.models.Comment;
+import SpectraSystems.Nexus.repositories.CommentRepository;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+public class CommentRepositoryTest {
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Comment persist(String content, Date creationDate, String path) {
+        Comment comment = new Comment(1L, content, 5L, "ana", null);
+        comment.setCreationDate(creationDate);
+        comment.setPath(path);
+        return entityManager.persist(comment);
+    }
+
+    @Test
+    public void commentRepository_FindTopLevelPage_OrdersSameDayCommentsByTime() {
+        long noon = 1_740_000_000_000L;
+        persist("later", new Date(noon + 3_600_000L), "/");
+        persist("earlier", new Date(noon), "/");
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Comment> page = commentRepository.findTopLevelPage(5L, PageRequest.of(0, 10));
+
+        Assertions.assertThat(page).extracting(Comment::getContent).containsExactly("earlier", "later");
+    }
+
+    @Test
+    public void commentRepository_FindTopLevelPageAfter_ContinuesWithinTheSameDay() {
+        long noon = 1_740_000_000_000L;
+        Comment first = persist("first", new Date(noon), "/");
+        persist("second", new Date(noon + 60_000L), "/");
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Comment> page = commentRepository.findTopLevelPageAfter(5L, first.getCreationDate(), first.getId(),
+                PageRequest.of(0, 10));
+
+        Assertions.assertThat(page).extracting(Comment::getContent).containsExactly("second");
+    }
+
+    @Test
+    public void commentRepository_FindByFlightIdOrderByPath_PutsLegacyRowsFirstInIdOrder() {
+        Date now = new Date();
+        Comment legacyA = persist("legacy a", now, "/");
+        Comment legacyB = persist("legacy b", now, "/");
+        Comment pathed = persist("pathed", now, "/");
+        pathed.setPath("/0000000001/");
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Comment> thread = commentRepository.findByFlightIdOrderByPathAscIdAsc(5L);
+
+        Assertions.assertThat(thread).extracting(Comment::getId)
+                .containsExactly(legacyA.getId(), legacyB.getId(), pathed.getId());
+    }
+}
@@ -11,18 +11,31 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 
 import SpectraSystems.Nexus.models.Flight;
+import SpectraSystems.Nexus.models.TicketPurchase;
 import SpectraSystems.Nexus.repositories.FlightRepository;
+import SpectraSystems.Nexus.repositories.TicketPurchaseRepository;
+import SpectraSystems.Nexus.testsupport.StatementCountingConfig;
+import SpectraSystems.Nexus.testsupport.StatementCounter;
 
 @DataJpaTest
 @ActiveProfiles("test")
 @AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+@Import(StatementCountingConfig.class)
 public class FlightRepositoryTest {
     
     private FlightRepository flightRepositoryTest;
 
+    @Autowired
+    private TicketPurchaseRepository ticketPurchaseRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
     @Autowired
     public FlightRepositoryTest(FlightRepository flightRepositoryTest){
         this.flightRepositoryTest = flightRepositoryTest;
@@ -80,6 +93,40 @@ public class FlightRepositoryTest {
         Assertions.assertThat(updateFlight.getRating()).isNotNull();
     }
 
+    @Test
+    public void flightRepository_FindByUserid_IssuesOneStatement() throws Exception {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            flightRepositoryTest.save(Flight.builder().userid(46L).flightNumber("46").departureDate(new Date()).departureLocation("Spain").purchaseDate(LocalDate.now()).arrivalLocation("Guatemala").type("premium").price(20D).build());
+        }
+        //Act
+        int statements = StatementCounter.count(() -> flightRepositoryTest.findByUserid(46L));
+        //Assert
+        Assertions.assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    public void flightRepository_FindWithTicketsByUserid_LoadsTicketsInSameStatement() throws Exception {
+        // Arrange
+        int ticketId = 4700;
+        for (int i = 0; i < 3; i++) {
+            Flight flight = flightRepositoryTest.save(Flight.builder().userid(47L).flightNumber("47").departureDate(new Date()).departureLocation("Spain").purchaseDate(LocalDate.now()).arrivalLocation("Guatemala").type("premium").price(20D).build());
+            for (int t = 0; t < 2; t++) {
+                ticketPurchaseRepository.save(new TicketPurchase(ticketId++, 47, flight.getId().intValue(), "premium", "active"));
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        //Act
+        int statements = StatementCounter.count(() -> {
+            List<Flight> flights = flightRepositoryTest.findWithTicketsByUserid(47L);
+            Assertions.assertThat(flights).hasSize(3);
+            Assertions.assertThat(flights).allSatisfy(flight -> Assertions.assertThat(flight.getTickets()).hasSize(2));
+        });
+        //Assert
+        Assertions.assertThat(statements).isEqualTo(1);
+    }
+
     @Test 
     public  void flightRepository_Delete_ReturnsFlihgtEmpty(){
         //Arrange
@@ -0,0 +1,47 @@
+package SpectraSystems.Nexus.repositroy;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import SpectraSystems.Nexus.models.RatingAggregate;
+import SpectraSystems.Nexus.repositories.RatingAggregateRepository;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+public class RatingAggregateRepositoryTest {
+
+    @Autowired
+    private RatingAggregateRepository ratingAggregateRepository;
+
+    @Test
+    public void ratingAggregateRepository_InsertIfAbsent_SeedsOnlyTheFirstRow() {
+        RatingAggregate.Key key = new RatingAggregate.Key(RatingAggregate.Target.FLIGHT, "812");
+
+        boolean first = ratingAggregateRepository.insertIfAbsent(new RatingAggregate(key, 2, 9, 3));
+        boolean second = ratingAggregateRepository.insertIfAbsent(new RatingAggregate(key, 5, 5, 5));
+
+        Assertions.assertThat(first).isTrue();
+        Assertions.assertThat(second).isFalse();
+        RatingAggregate stored = ratingAggregateRepository.findById(key).orElseThrow();
+        Assertions.assertThat(stored.getRatingCount()).isEqualTo(2);
+        Assertions.assertThat(stored.getRatingSum()).isEqualTo(9);
+        Assertions.assertThat(stored.getCommentCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void ratingAggregateRepository_ApplyDelta_AfterSeed_UpdatesTheSeededRow() {
+        RatingAggregate.Key key = new RatingAggregate.Key(RatingAggregate.Target.HOTEL, "H7");
+        ratingAggregateRepository.insertIfAbsent(new RatingAggregate(key, 1, 4, 0));
+
+        int updated = ratingAggregateRepository.applyDelta(key, 1, 5, 0);
+
+        Assertions.assertThat(updated).isEqualTo(1);
+        Assertions.assertThat(ratingAggregateRepository.findById(key).orElseThrow().getRatingSum()).isEqualTo(9);
+    }
+}
@@ -9,19 +9,34 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import SpectraSystems.Nexus.config.SecondLevelCacheConfig;
+import SpectraSystems.Nexus.dto.UserSummary;
 import SpectraSystems.Nexus.models.Role;
 import SpectraSystems.Nexus.models.User;
 import SpectraSystems.Nexus.repositories.UserRepository;
+import SpectraSystems.Nexus.testsupport.StatementCounter;
+import SpectraSystems.Nexus.testsupport.StatementCountingConfig;
+import jakarta.persistence.EntityManagerFactory;
 
 @DataJpaTest
 @ActiveProfiles("test")
 @AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+@Import({SecondLevelCacheConfig.class, StatementCountingConfig.class})
 public class UserRepositoryTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Test
     public void userRepository_SaveAll_RetrunSavedUser(){
         //Arrange
@@ -107,4 +122,46 @@ public class UserRepositoryTest {
         Assertions.assertThat(userReturn).isEmpty();
 
     }
+
+    @Test
+    public void userRepository_FindSummaries_ReturnsPagedProjection(){
+        //Arrange
+        User user = User.builder().first_Name("John").last_Name("Doe").email("john@doe.com").age(8).password("1234567890").country("Spain").passport("1234567890").role(Role.ROLE_USER).build();
+        User user2 = User.builder().first_Name("John").last_Name("Wick").email("john@wick.com").age(8).password("1234567890").country("Russia").passport("1234567890").role(Role.ROLE_ADMIN).build();
+        userRepository.save(user);
+        userRepository.save(user2);
+
+        //Act
+        Page<UserSummary> page = userRepository.findSummaries(PageRequest.of(0, 1, Sort.by("id")));
+        UserSummary summary = userRepository.findSummaryById(user2.getId()).get();
+
+        //Assert
+        Assertions.assertThat(page.getTotalElements()).isEqualTo(2);
+        Assertions.assertThat(page.getContent()).hasSize(1);
+        Assertions.assertThat(page.getContent().get(0).email()).isEqualTo("john@doe.com");
+        Assertions.assertThat(summary.lastName()).isEqualTo("Wick");
+        Assertions.assertThat(summary.role()).isEqualTo(Role.ROLE_ADMIN);
+        Assertions.assertThat(userRepository.findEmailById(user.getId())).contains("john@doe.com");
+    }
+
+    @Test
+    // Committed for real, so a cacheable User would be in the second-level cache by the second lookup
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void userRepository_FindByEmail_AlwaysReadsTheDatabase() throws Exception {
+        //Arrange
+        User user = User.builder().first_Name("John").last_Name("Doe").email("john@doe.com").age(8).password("1234567890").country("Spain").passport("1234567890").role(Role.ROLE_USER).build();
+        userRepository.save(user);
+        userRepository.findByEmail("john@doe.com");
+
+        try {
+            //Act
+            int statements = StatementCounter.count(() -> userRepository.findByEmail("john@doe.com"));
+
+            //Assert
+            Assertions.assertThat(statements).isEqualTo(1);
+        } finally {
+            userRepository.deleteById(user.getId());
+            entityManagerFactory.getCache().evictAll();
+        }
+    }
 }
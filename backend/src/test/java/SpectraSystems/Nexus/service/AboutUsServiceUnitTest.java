@@ -10,6 +10,11 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import SpectraSystems.Nexus.dto.CachedJson;
+
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
 
@@ -140,4 +145,57 @@ class AboutUsServiceUnitTest {
         assertThrows(ResourceNotFoundException.class, () -> service.updateAboutUs(42L, aboutus));
         verify(repo, never()).save(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    void findSerializedById_serializes_once_until_a_write() {
+        AboutUsService cached = new AboutUsService(repo, new ObjectMapper());
+        Aboutus a = new Aboutus();
+        a.setId(1L);
+        a.setSlogan("Fly");
+        when(repo.findById(1L)).thenReturn(Optional.of(a));
+        when(repo.save(a)).thenReturn(a);
+
+        CachedJson first = cached.findSerializedById(1L).orElseThrow();
+        CachedJson second = cached.findSerializedById(1L).orElseThrow();
+
+        assertSame(first, second);
+        assertTrue(new String(first.body(), StandardCharsets.UTF_8).contains("\"slogan\":\"Fly\""));
+        assertTrue(first.etag().startsWith("\"") && first.etag().endsWith("\""));
+        verify(repo, times(1)).findById(1L);
+
+        a.setSlogan("Fly higher");
+        cached.saveOrUpdate(a);
+        CachedJson third = cached.findSerializedById(1L).orElseThrow();
+
+        assertNotEquals(first.etag(), third.etag());
+        verify(repo, times(2)).findById(1L);
+    }
+
+    @Test
+    void findSerializedById_reloads_after_periodic_expiry() {
+        AboutUsService cached = new AboutUsService(repo, new ObjectMapper());
+        Aboutus a = new Aboutus();
+        a.setId(1L);
+        a.setSlogan("Fly");
+        when(repo.findById(1L)).thenReturn(Optional.of(a));
+
+        cached.findSerializedById(1L);
+        // Written by another pod: only the expiry makes this one see it
+        a.setSlogan("Fly higher");
+        cached.expire();
+        CachedJson reloaded = cached.findSerializedById(1L).orElseThrow();
+
+        assertTrue(new String(reloaded.body(), StandardCharsets.UTF_8).contains("\"slogan\":\"Fly higher\""));
+        verify(repo, times(2)).findById(1L);
+    }
+
+    @Test
+    void findSerializedById_missing_is_not_cached() {
+        AboutUsService cached = new AboutUsService(repo, new ObjectMapper());
+        when(repo.findById(9L)).thenReturn(Optional.empty());
+
+        assertTrue(cached.findSerializedById(9L).isEmpty());
+        assertTrue(cached.findSerializedById(9L).isEmpty());
+        verify(repo, times(2)).findById(9L);
+    }
+}
@@ -1,15 +1,22 @@
 package SpectraSystems.Nexus.services;
 
+import SpectraSystems.Nexus.dto.CommentPage;
+import SpectraSystems.Nexus.exceptions.BadRequestException;
 import SpectraSystems.Nexus.models.Comment;
+import SpectraSystems.Nexus.models.RatingAggregate;
 import SpectraSystems.Nexus.repositories.CommentRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -19,6 +26,7 @@ import static org.mockito.Mockito.*;
 class CommentServiceUnitTest {
 
     @Mock CommentRepository repo;
+    @Mock RatingAggregateService ratingAggregateService;
     @InjectMocks CommentService service;
 
     @Test
@@ -95,4 +103,122 @@ class CommentServiceUnitTest {
         service.deleteComment(3L);
         verify(repo).deleteById(3L);
     }
-}
\ No newline at end of file
+
+    @Test
+    void createComment_reply_sets_path_under_parent() {
+        Comment parent = new Comment();
+        parent.setId(12L);
+        parent.setPath("/0000000012/");
+        Comment reply = new Comment(1L, "re", 5L, "ana", 12L);
+
+        when(repo.save(reply)).thenAnswer(inv -> {
+            reply.setId(40L);
+            return reply;
+        });
+        when(repo.findById(12L)).thenReturn(Optional.of(parent));
+
+        Comment out = service.createComment(reply);
+
+        assertEquals("/0000000012/0000000040/", out.getPath());
+        verify(repo).save(reply);
+        verify(ratingAggregateService).recordComment(RatingAggregate.Target.FLIGHT, "5", 1);
+    }
+
+    @Test
+    void deleteComment_decrements_flight_comment_count() {
+        Comment c = comment(3L, null, "/0000000003/");
+        when(repo.findById(3L)).thenReturn(Optional.of(c));
+
+        service.deleteComment(3L);
+
+        InOrder order = inOrder(repo, ratingAggregateService);
+        order.verify(repo).deleteById(3L);
+        order.verify(ratingAggregateService).recordComment(RatingAggregate.Target.FLIGHT, "5", -1);
+    }
+
+    @Test
+    void getCommentTree_assembles_nested_replies_from_one_query() {
+        Comment root = comment(1L, null, "/0000000001/");
+        Comment reply = comment(2L, 1L, "/0000000001/0000000002/");
+        Comment nested = comment(3L, 2L, "/0000000001/0000000002/0000000003/");
+        Comment other = comment(4L, null, "/0000000004/");
+        when(repo.findByFlightIdOrderByPathAscIdAsc(5L)).thenReturn(List.of(root, reply, nested, other));
+
+        List<Comment> tree = service.getCommentTree(5L);
+
+        assertEquals(List.of(root, other), tree);
+        assertEquals(List.of(reply), root.getChildren());
+        assertEquals(List.of(nested), reply.getChildren());
+        assertTrue(other.getChildren().isEmpty());
+        verify(repo, never()).findById(any());
+    }
+
+    @Test
+    void getCommentPage_returns_cursor_when_more_rows_exist() {
+        Comment a = comment(1L, null, "/0000000001/");
+        Comment b = comment(2L, null, "/0000000002/");
+        Comment c = comment(3L, null, "/0000000003/");
+        b.setCreationDate(new Date(1_000L));
+        when(repo.findTopLevelPage(5L, PageRequest.of(0, 3))).thenReturn(List.of(a, b, c));
+
+        CommentPage page = service.getCommentPage(5L, null, 2, 0);
+
+        assertEquals(List.of(a, b), page.getComments());
+        assertNotNull(page.getNextCursor());
+        verify(repo, never()).findFirstRepliesPerParent(any(), anyInt());
+
+        when(repo.findTopLevelPageAfter(5L, new Date(1_000L), 2L, PageRequest.of(0, 3))).thenReturn(List.of(c));
+
+        CommentPage next = service.getCommentPage(5L, page.getNextCursor(), 2, 0);
+
+        assertEquals(List.of(c), next.getComments());
+        assertNull(next.getNextCursor());
+    }
+
+    @Test
+    void getCommentPage_preloads_replies_in_one_query_capped_per_parent() {
+        Comment a = comment(1L, null, "/0000000001/");
+        Comment b = comment(2L, null, "/0000000002/");
+        Comment r1 = comment(10L, 1L, "/0000000001/0000000010/");
+        Comment r3 = comment(12L, 2L, "/0000000002/0000000012/");
+        when(repo.findTopLevelPage(eq(5L), any())).thenReturn(List.of(a, b));
+        when(repo.findFirstRepliesPerParent(any(), eq(1))).thenReturn(List.of(r1, r3));
+
+        CommentPage page = service.getCommentPage(5L, null, 20, 1);
+
+        assertEquals(List.of(r1), a.getChildren());
+        assertEquals(List.of(r3), b.getChildren());
+        assertNull(page.getNextCursor());
+        verify(repo, times(1)).findFirstRepliesPerParent(any(), eq(1));
+    }
+
+    @Test
+    void getCommentPage_rejects_malformed_cursor() {
+        assertThrows(BadRequestException.class, () -> service.getCommentPage(5L, "not-a-cursor", 20, 0));
+    }
+
+    @Test
+    void getCommentsByFlightIds_limits_per_flight_in_query_and_groups() {
+        Comment a1 = comment(1L, null, "/0000000001/");
+        Comment a1Reply = comment(3L, 1L, "/0000000001/0000000003/");
+        Comment b1 = comment(4L, null, "/0000000004/");
+        b1.setFlightId(6L);
+        when(repo.findFirstTopLevelPerFlight(List.of(5L, 6L), 1)).thenReturn(List.of(a1, b1));
+        when(repo.findFirstRepliesPerParent(any(), eq(CommentService.MAX_REPLIES))).thenReturn(List.of(a1Reply));
+
+        Map<Long, List<Comment>> byFlight = service.getCommentsByFlightIds(List.of(5L, 6L), 1);
+
+        assertEquals(List.of(a1), byFlight.get(5L));
+        assertEquals(List.of(a1Reply), a1.getChildren());
+        assertEquals(List.of(b1), byFlight.get(6L));
+        verify(repo, times(1)).findFirstTopLevelPerFlight(any(), anyInt());
+        verify(repo, times(1)).findFirstRepliesPerParent(any(), anyInt());
+    }
+
+    private static Comment comment(Long id, Long parent, String path) {
+        Comment c = new Comment(1L, "c" + id, 5L, "ana", parent);
+        c.setId(id);
+        c.setPath(path);
+        return c;
+    }
+}
@@ -0,0 +1,81 @@
+package SpectraSystems.Nexus.service;
+
+import SpectraSystems.Nexus.repositories.UserRepository;
+import SpectraSystems.Nexus.services.CredentialVersionRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CredentialVersionRegistryTest {
+
+    @Mock UserRepository userRepository;
+
+    CredentialVersionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new CredentialVersionRegistry(userRepository);
+    }
+
+    @Test
+    void tokenAtOrAboveStoredVersion_isCurrent() {
+        when(userRepository.findCredentialVersionById(1L)).thenReturn(Optional.of(0L));
+        when(userRepository.findCredentialVersionById(2L)).thenReturn(Optional.of(3L));
+
+        assertTrue(registry.isCurrent(1L, 0L));
+        assertTrue(registry.isCurrent(2L, 3L));
+        assertFalse(registry.isCurrent(2L, 2L));
+    }
+
+    @Test
+    void unknownUser_isNeverCurrent() {
+        when(userRepository.findCredentialVersionById(99L)).thenReturn(Optional.empty());
+
+        assertFalse(registry.isKnown(99L));
+        assertFalse(registry.isCurrent(99L, 0L));
+    }
+
+    @Test
+    void version_isReadOncePerUserAndInterval() {
+        when(userRepository.findCredentialVersionById(2L)).thenReturn(Optional.of(3L));
+
+        registry.isKnown(2L);
+        registry.isCurrent(2L, 3L);
+        registry.isCurrent(2L, 3L);
+
+        verify(userRepository, times(1)).findCredentialVersionById(2L);
+        verifyNoMoreInteractions(userRepository);
+    }
+
+    @Test
+    void expiredVersion_isReadAgain() {
+        ReflectionTestUtils.setField(registry, "refreshMs", 0L);
+        when(userRepository.findCredentialVersionById(2L)).thenReturn(Optional.of(3L));
+        assertTrue(registry.isCurrent(2L, 3L));
+
+        when(userRepository.findCredentialVersionById(2L)).thenReturn(Optional.of(4L));
+
+        assertFalse(registry.isCurrent(2L, 3L));
+    }
+
+    @Test
+    void forget_dropsDeletedUserBeforeTheIntervalEnds() {
+        when(userRepository.findCredentialVersionById(1L)).thenReturn(Optional.of(0L));
+        assertTrue(registry.isKnown(1L));
+        when(userRepository.findCredentialVersionById(1L)).thenReturn(Optional.empty());
+
+        registry.forget(1L);
+
+        assertFalse(registry.isKnown(1L));
+        assertFalse(registry.isCurrent(1L, 0L));
+    }
+}
@@ -1,10 +1,16 @@
 package SpectraSystems.Nexus.services;
 
 import SpectraSystems.Nexus.exceptions.ResourceNotFoundException;
+import SpectraSystems.Nexus.models.Comment;
 import SpectraSystems.Nexus.models.Flight;
+import SpectraSystems.Nexus.models.Rating;
+import SpectraSystems.Nexus.models.RatingAggregate;
+import SpectraSystems.Nexus.models.User;
+import SpectraSystems.Nexus.models.externalFlight;
 import SpectraSystems.Nexus.repositories.FlightRepository;
 import SpectraSystems.Nexus.repositories.TicketPurchaseRepository;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
@@ -13,12 +19,18 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDate;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -30,15 +42,28 @@ class FlightServiceUnitTest {
     @Mock FlightRepository flightRepository;
     @Mock RestTemplate restTemplate;
     @Mock TicketPurchaseRepository ticketPurchaseRepository;
+    @Mock RatingAggregateService ratingAggregateService;
+    @Mock CommentService commentService;
 
     @InjectMocks FlightService service;
 
+    @AfterEach
+    void clearSecurity() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static void loginAs(Long userId) {
+        User principal = User.builder().id(userId).email("u" + userId + "@example.com").build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
     @Test
     void getAllFlights_ok() {
-        when(flightRepository.findAll()).thenReturn(List.of(new Flight(), new Flight()));
+        when(flightRepository.findAllWithTickets()).thenReturn(List.of(new Flight(), new Flight()));
         List<Flight> out = service.getAllFlights();
         assertEquals(2, out.size());
-        verify(flightRepository).findAll();
+        verify(flightRepository).findAllWithTickets();
     }
 
     @Test
@@ -53,9 +78,9 @@ class FlightServiceUnitTest {
 
     @Test
     void getAllFlightsByUserId_ok() {
-        when(flightRepository.findByUserid(7L)).thenReturn(List.of());
+        when(flightRepository.findWithTicketsByUserid(7L)).thenReturn(List.of());
         assertNotNull(service.getAllFlightsByUserId(7L));
-        verify(flightRepository).findByUserid(7L);
+        verify(flightRepository).findWithTicketsByUserid(7L);
     }
 
     @Test
@@ -155,4 +180,88 @@ class FlightServiceUnitTest {
         service.purchaseFlight(2, "card", 77L, null);
         verifyNoInteractions(restTemplate, ticketPurchaseRepository, flightRepository);
     }
-}
\ No newline at end of file
+
+    @Test
+    void rateFlight_replacesRating_andUpdatesAggregate() {
+        ReflectionTestUtils.setField(service, "ratingAggregateService", ratingAggregateService);
+        loginAs(7L);
+        Flight f = Flight.builder().id(4L).userid(7L).flightNumber("812").rating(2L).build();
+        when(flightRepository.findById(4L)).thenReturn(Optional.of(f));
+        when(flightRepository.save(f)).thenReturn(f);
+
+        Flight out = service.rateFlight(4L, 5L);
+
+        assertEquals(5L, out.getRating());
+        verify(ratingAggregateService).recordRating(RatingAggregate.Target.FLIGHT, "812", 2L, 5L);
+    }
+
+    @Test
+    void rateFlight_keysAggregateLikeTheFlightsComments() {
+        ReflectionTestUtils.setField(service, "ratingAggregateService", ratingAggregateService);
+        loginAs(7L);
+        Flight f = Flight.builder().id(4L).userid(7L).flightNumber(" 0812").build();
+        when(flightRepository.findById(4L)).thenReturn(Optional.of(f));
+        when(flightRepository.save(f)).thenReturn(f);
+
+        service.rateFlight(4L, 3L);
+
+        // CommentService records a comment on provider flight 812 under the same target id
+        verify(ratingAggregateService).recordRating(RatingAggregate.Target.FLIGHT,
+                RatingAggregate.flightTargetId(812L), null, 3L);
+    }
+
+    @Test
+    void rateFlight_nonNumericFlightNumber_skipsAggregate() {
+        ReflectionTestUtils.setField(service, "ratingAggregateService", ratingAggregateService);
+        loginAs(7L);
+        Flight f = Flight.builder().id(4L).userid(7L).flightNumber("AA100").build();
+        when(flightRepository.findById(4L)).thenReturn(Optional.of(f));
+        when(flightRepository.save(f)).thenReturn(f);
+
+        assertEquals(4L, service.rateFlight(4L, 4L).getRating());
+        verifyNoInteractions(ratingAggregateService);
+    }
+
+    @Test
+    void rateFlight_someoneElsesFlight_isDenied() {
+        ReflectionTestUtils.setField(service, "ratingAggregateService", ratingAggregateService);
+        loginAs(8L);
+        Flight f = Flight.builder().id(4L).userid(7L).flightNumber("812").rating(2L).build();
+        when(flightRepository.findById(4L)).thenReturn(Optional.of(f));
+
+        assertThrows(AccessDeniedException.class, () -> service.rateFlight(4L, 1L));
+        assertEquals(2L, f.getRating());
+        verify(flightRepository, never()).save(any());
+        verifyNoInteractions(ratingAggregateService);
+    }
+
+    @Test
+    void rateFlight_outOfRange_throws() {
+        assertThrows(SpectraSystems.Nexus.exceptions.BadRequestException.class, () -> service.rateFlight(4L, 6L));
+        verifyNoInteractions(flightRepository);
+    }
+
+    @Test
+    void enrichSearchResults_loadsCommentsAndRatingsOnce_forAllFlightsAndScales() {
+        ReflectionTestUtils.setField(service, "commentService", commentService);
+        ReflectionTestUtils.setField(service, "ratingAggregateService", ratingAggregateService);
+        externalFlight first = new externalFlight();
+        first.setFlightId(1L);
+        externalFlight scale = new externalFlight();
+        scale.setFlightId(2L);
+        first.setScale(scale);
+        externalFlight second = new externalFlight();
+        second.setFlightId(3L);
+        Comment comment = new Comment();
+        when(commentService.getCommentsByFlightIds(Set.of(1L, 2L, 3L), 5)).thenReturn(Map.of(1L, List.of(comment)));
+        when(ratingAggregateService.getRatings(RatingAggregate.Target.FLIGHT, List.of("1", "2", "3")))
+                .thenReturn(Map.of("3", new Rating(4.0, 2)));
+
+        service.enrichSearchResults(List.of(first, second));
+
+        assertEquals(List.of(comment), first.getComments());
+        assertTrue(scale.getComments().isEmpty());
+        assertEquals(4.0, second.getRating().getAverage());
+        verify(commentService, times(1)).getCommentsByFlightIds(any(), anyInt());
+    }
+}
@@ -87,4 +87,60 @@ class JwtServiceTest {
 
     assertFalse(verifier.isTokenValid(token, user), "token signed with a different key must be invalid");
     }
-}
\ No newline at end of file
+
+    @Test
+    void verifyToken_parsesOnce_andServesRepeatedCallsFromCache() {
+        JwtService svc = new JwtService();
+        svc.jwtSecretKey = b64Key("01234567890123456789012345678901".getBytes(StandardCharsets.UTF_8));
+        svc.jwtExpirationMs = 3_600_000L;
+
+        UserDetails user = User.withUsername("alice").password("x").roles("USER").build();
+        String token = svc.generateToken(user);
+
+        io.jsonwebtoken.Claims first = svc.verifyToken(token);
+        assertSame(first, svc.verifyToken(token), "second verification should hit the cache");
+        assertTrue(svc.isTokenValid(token, user));
+        assertEquals("alice", svc.extractUserName(token));
+    }
+
+    @Test
+    void verifiedTokenCache_dropsEntriesAtExpiration() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        io.jsonwebtoken.Claims live = io.jsonwebtoken.Jwts.claims().setSubject("alice")
+                .setExpiration(new java.util.Date(System.currentTimeMillis() + 60_000));
+        io.jsonwebtoken.Claims expired = io.jsonwebtoken.Jwts.claims().setSubject("bob")
+                .setExpiration(new java.util.Date(System.currentTimeMillis() - 1));
+
+        cache.put("live.token", live);
+        cache.put("expired.token", expired);
+
+        assertSame(live, cache.get("live.token"));
+        assertNull(cache.get("expired.token"), "expired claims must not be served");
+        assertNull(cache.get("unknown.token"));
+    }
+
+    @Test
+    void domainUserToken_carriesIdRoleAndVersion_forStatelessMode() {
+        JwtService svc = new JwtService();
+        svc.jwtSecretKey = b64Key("01234567890123456789012345678901".getBytes(StandardCharsets.UTF_8));
+        svc.jwtExpirationMs = 3_600_000L;
+
+        SpectraSystems.Nexus.models.User user = SpectraSystems.Nexus.models.User.builder()
+                .id(42L)
+                .email("jane@example.com")
+                .role(SpectraSystems.Nexus.models.Role.ROLE_ADMIN)
+                .credentialVersion(3L)
+                .build();
+
+        SpectraSystems.Nexus.models.User fromClaims = svc.userFromClaims(svc.verifyToken(svc.generateToken(user)));
+
+        assertEquals(42L, fromClaims.getId());
+        assertEquals("jane@example.com", fromClaims.getUsername());
+        assertEquals(SpectraSystems.Nexus.models.Role.ROLE_ADMIN, fromClaims.getRole());
+        assertEquals(3L, fromClaims.getCredentialVersion());
+
+        UserDetails plain = User.withUsername("alice").password("x").roles("USER").build();
+        assertNull(svc.userFromClaims(svc.verifyToken(svc.generateToken(plain))),
+                "tokens without the stateless claims fall back to the database path");
+    }
+}
@@ -0,0 +1,57 @@
+package SpectraSystems.Nexus.service;
+
+import SpectraSystems.Nexus.models.Provider;
+import SpectraSystems.Nexus.models.Type;
+import SpectraSystems.Nexus.repositories.ProviderRepository;
+import SpectraSystems.Nexus.services.ProviderRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProviderRegistryTest {
+
+    @Mock ProviderRepository repo;
+    @InjectMocks ProviderRegistry registry;
+
+    private static Provider provider(Long id, Type type, double discount) {
+        return new Provider(id, "P" + id, "http://p" + id, type, 0.1, 0.2, discount);
+    }
+
+    @Test
+    void loads_once_then_serves_lookups_from_memory() {
+        when(repo.findAll()).thenReturn(List.of(provider(2L, Type.HOTEL, 0.0), provider(1L, Type.AEROLINEA, 0.25)));
+
+        assertEquals("P1", registry.findById(1L).orElseThrow().getProviderName());
+        assertEquals(List.of(2L), registry.findByType(Type.HOTEL).stream().map(Provider::getId).toList());
+        assertEquals(List.of(1L, 2L), registry.findAll().stream().map(Provider::getId).toList());
+        assertTrue(registry.findById(3L).isEmpty());
+
+        verify(repo, times(1)).findAll();
+    }
+
+    @Test
+    void put_and_remove_swap_the_snapshot_without_reloading() {
+        when(repo.findAll()).thenReturn(List.of(provider(1L, Type.AEROLINEA, 0.0)));
+        List<Provider> before = registry.findByType(Type.AEROLINEA);
+
+        Provider moved = provider(1L, Type.HOTEL, 0.0);
+        registry.put(moved);
+        moved.setProviderName("changed after put");
+
+        assertEquals(1, before.size());
+        assertTrue(registry.findByType(Type.AEROLINEA).isEmpty());
+        assertEquals("P1", registry.findByType(Type.HOTEL).get(0).getProviderName());
+
+        registry.remove(1L);
+        assertTrue(registry.findAll().isEmpty());
+        verify(repo, times(1)).findAll();
+    }
+}
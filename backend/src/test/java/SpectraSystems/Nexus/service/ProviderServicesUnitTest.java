@@ -20,30 +20,34 @@ import static org.mockito.Mockito.*;
 class ProviderServicesUnitTest {
 
     @Mock ProviderRepository repo;
+    @Mock ProviderRegistry registry;
     @InjectMocks ProviderServices service;
 
     @Test
-    void getAllProviders_delegates_to_repo() {
-        when(repo.findAll()).thenReturn(List.of(new Provider(), new Provider()));
+    void getAllProviders_reads_registry_without_query() {
+        when(registry.findAll()).thenReturn(List.of(new Provider(), new Provider()));
         assertEquals(2, service.getAllProviders().size());
-        verify(repo).findAll();
+        verify(registry).findAll();
+        verifyNoInteractions(repo);
     }
 
     @Test
     void getProviderById_present_and_empty() {
         Provider p = new Provider();
-        when(repo.findById(1L)).thenReturn(Optional.of(p));
-        when(repo.findById(9L)).thenReturn(Optional.empty());
+        when(registry.findById(1L)).thenReturn(Optional.of(p));
+        when(registry.findById(9L)).thenReturn(Optional.empty());
 
         assertTrue(service.getProviderById(1L).isPresent());
         assertTrue(service.getProviderById(9L).isEmpty());
+        verifyNoInteractions(repo);
     }
 
     @Test
-    void getProviderByType_delegates_to_repo() {
-        when(repo.findByType(Type.HOTEL)).thenReturn(List.of(new Provider()));
+    void getProviderByType_reads_registry_without_query() {
+        when(registry.findByType(Type.HOTEL)).thenReturn(List.of(new Provider()));
         assertEquals(1, service.getProviderByType(Type.HOTEL).size());
-        verify(repo).findByType(Type.HOTEL);
+        verify(registry).findByType(Type.HOTEL);
+        verifyNoInteractions(repo);
     }
 
     @Test
@@ -64,6 +68,7 @@ class ProviderServicesUnitTest {
         Provider out = service.createProvider(in);
         assertSame(saved, out);
         verify(repo).save(in);
+        verify(registry).put(saved);
     }
 
     @Test
@@ -107,6 +112,7 @@ class ProviderServicesUnitTest {
         Provider saved = cap.getValue();
         assertEquals("NewName", saved.getProviderName());
         assertEquals(Type.AEROLINEA, saved.getType());
+        verify(registry).put(saved);
     }
 
     @Test
@@ -119,6 +125,7 @@ class ProviderServicesUnitTest {
 
         assertNull(out);
         verify(repo, never()).save(any());
+        verifyNoInteractions(registry);
     }
 
     @Test
@@ -126,5 +133,6 @@ class ProviderServicesUnitTest {
         doNothing().when(repo).deleteById(5L);
         service.deleteProvider(5L);
         verify(repo).deleteById(5L);
+        verify(registry).remove(5L);
     }
 }
\ No newline at end of file
@@ -0,0 +1,119 @@
+package SpectraSystems.Nexus.service;
+
+import SpectraSystems.Nexus.models.Rating;
+import SpectraSystems.Nexus.models.RatingAggregate;
+import SpectraSystems.Nexus.repositories.RatingAggregateRepository;
+import SpectraSystems.Nexus.services.RatingAggregateService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RatingAggregateServiceTest {
+
+    @Mock RatingAggregateRepository repo;
+    @Mock PlatformTransactionManager transactionManager;
+
+    RatingAggregateService service;
+
+    final RatingAggregate.Key flight = new RatingAggregate.Key(RatingAggregate.Target.FLIGHT, "812");
+
+    @BeforeEach
+    void setUp() {
+        service = new RatingAggregateService(repo, transactionManager);
+    }
+
+    @Test
+    void recordRating_firstRating_addsCountAndSum() {
+        when(repo.applyDelta(flight, 1, 4, 0)).thenReturn(1);
+
+        service.recordRating(RatingAggregate.Target.FLIGHT, "812", null, 4L);
+
+        verify(repo).applyDelta(flight, 1, 4, 0);
+    }
+
+    @Test
+    void recordRating_changedRating_onlyMovesSum() {
+        when(repo.applyDelta(flight, 0, 3, 0)).thenReturn(1);
+
+        service.recordRating(RatingAggregate.Target.FLIGHT, "812", 2L, 5L);
+
+        verify(repo).applyDelta(flight, 0, 3, 0);
+    }
+
+    @Test
+    void recordRating_unchanged_writesNothing() {
+        service.recordRating(RatingAggregate.Target.FLIGHT, "812", 3L, 3L);
+        verifyNoInteractions(repo);
+    }
+
+    @Test
+    void recordComment_firstWrite_seedsRowInCallersTransaction_withoutApplyingDeltaAgain() {
+        RatingAggregateRepository.RatingTotals totals = mock(RatingAggregateRepository.RatingTotals.class);
+        when(totals.getRatingCount()).thenReturn(2L);
+        when(totals.getRatingSum()).thenReturn(9L);
+        when(repo.applyDelta(flight, 0, 0, 1)).thenReturn(0);
+        when(repo.countFlightComments(812L)).thenReturn(3L);
+        when(repo.findFlightRatingTotals("812")).thenReturn(totals);
+        when(repo.insertIfAbsent(any())).thenReturn(true);
+
+        service.recordComment(RatingAggregate.Target.FLIGHT, "812", 1);
+
+        verify(repo).insertIfAbsent(argThat(a -> a.getId().equals(flight)
+                && a.getCommentCount() == 3 && a.getRatingCount() == 2 && a.getRatingSum() == 9));
+        verify(repo, times(1)).applyDelta(flight, 0, 0, 1);
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    void recordComment_rowSeededConcurrently_appliesDelta() {
+        RatingAggregateRepository.RatingTotals totals = mock(RatingAggregateRepository.RatingTotals.class);
+        when(repo.applyDelta(flight, 0, 0, -1)).thenReturn(0, 1);
+        when(repo.countFlightComments(812L)).thenReturn(0L);
+        when(repo.findFlightRatingTotals("812")).thenReturn(totals);
+        when(repo.insertIfAbsent(any())).thenReturn(false);
+
+        service.recordComment(RatingAggregate.Target.FLIGHT, "812", -1);
+
+        verify(repo, times(2)).applyDelta(flight, 0, 0, -1);
+    }
+
+    @Test
+    void backfill_createsRowsOnlyForUnseededTargets() {
+        RatingAggregate.Key hotel = new RatingAggregate.Key(RatingAggregate.Target.HOTEL, "H7");
+        when(repo.findUnseededCommentedFlights(RatingAggregate.Target.FLIGHT)).thenReturn(List.of("812"));
+        when(repo.findUnseededRatedFlights(RatingAggregate.Target.FLIGHT)).thenReturn(List.of("812"));
+        when(repo.findUnseededRatedHotels(RatingAggregate.Target.HOTEL)).thenReturn(List.of("H7"));
+        when(repo.insertIfAbsent(argThat(a -> a.getId().equals(flight)))).thenReturn(true, false);
+        when(repo.insertIfAbsent(argThat(a -> a.getId().equals(hotel)))).thenReturn(true);
+
+        service.backfill();
+
+        verify(repo, times(2)).insertIfAbsent(argThat(a -> a.getId().equals(flight)));
+        verify(repo).insertIfAbsent(argThat(a -> a.getId().equals(hotel)));
+        verify(repo, never()).applyDelta(any(), anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    void getRatings_isOneBatchedLookup() {
+        RatingAggregate a = new RatingAggregate(flight, 4, 18, 7);
+        when(repo.findByIdTargetTypeAndIdTargetIdIn(RatingAggregate.Target.FLIGHT, List.of("812", "900")))
+                .thenReturn(List.of(a));
+
+        Map<String, Rating> ratings = service.getRatings(RatingAggregate.Target.FLIGHT, List.of("812", "900"));
+
+        assertEquals(1, ratings.size());
+        assertEquals(4.5, ratings.get("812").getAverage());
+        assertEquals(4, ratings.get("812").getCount());
+    }
+}
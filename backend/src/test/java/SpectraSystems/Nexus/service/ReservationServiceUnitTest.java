@@ -2,6 +2,7 @@ package SpectraSystems.Nexus.services;
 
 import SpectraSystems.Nexus.exceptions.ResourceNotFoundException;
 import SpectraSystems.Nexus.models.Flight;
+import SpectraSystems.Nexus.models.RatingAggregate;
 import SpectraSystems.Nexus.models.Reservation;
 import SpectraSystems.Nexus.models.User;
 import SpectraSystems.Nexus.repositories.FlightRepository;
@@ -18,6 +19,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -36,6 +38,7 @@ class ReservationServiceUnitTest {
     @Mock FlightRepository flightRepository;
     @Mock UserService userService;
     @Mock JavaMailSender emailSender;
+    @Mock RatingAggregateService ratingAggregateService;
 
     @InjectMocks ReservationService service;
 
@@ -157,8 +160,8 @@ class ReservationServiceUnitTest {
                 .thenReturn(List.of(f1, f2));
 
         // Email + user lookups for sendCancellationEmail(...)
-        when(userService.getUserById(7L))
-                .thenReturn(Optional.of(User.builder().id(7L).email("u@e.com").build()));
+        when(userService.getUserEmail(7L))
+                .thenReturn(Optional.of("u@e.com"));
 
         // Make sure the service has our mock injected even if @InjectMocks skips field injection
         ReflectionTestUtils.setField(service, "emailSender", emailSender);
@@ -240,4 +243,38 @@ class ReservationServiceUnitTest {
         assertEquals(1, service.getReservationsByHotelId("H-1").size());
         verify(reservationRepository).findAllByHotelId("H-1");
     }
+
+    // ---------- rating: only the guest who booked ----------
+    private static void loginAs(Long userId) {
+        User principal = User.builder().id(userId).email("u" + userId + "@example.com").build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    @Test
+    void rateReservation_ownReservation_updatesAggregate() {
+        ReflectionTestUtils.setField(service, "ratingAggregateService", ratingAggregateService);
+        loginAs(123L);
+        Reservation r = Reservation.builder().userid(123L).hotelId("H-1").build();
+        r.setRating(2L);
+        when(reservationRepository.findById(5L)).thenReturn(Optional.of(r));
+        when(reservationRepository.save(r)).thenReturn(r);
+
+        assertEquals(4L, service.rateReservation(5L, 4L).getRating());
+        verify(ratingAggregateService).recordRating(RatingAggregate.Target.HOTEL, "H-1", 2L, 4L);
+    }
+
+    @Test
+    void rateReservation_someoneElsesReservation_isDenied() {
+        ReflectionTestUtils.setField(service, "ratingAggregateService", ratingAggregateService);
+        loginAs(999L);
+        Reservation r = Reservation.builder().userid(123L).hotelId("H-1").build();
+        r.setRating(2L);
+        when(reservationRepository.findById(5L)).thenReturn(Optional.of(r));
+
+        assertThrows(AccessDeniedException.class, () -> service.rateReservation(5L, 1L));
+        assertEquals(2L, r.getRating());
+        verify(reservationRepository, never()).save(any());
+        verifyNoInteractions(ratingAggregateService);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,111 @@
+package SpectraSystems.Nexus.service;
+
+import SpectraSystems.Nexus.models.RevokedToken;
+import SpectraSystems.Nexus.repositories.RevokedTokenRepository;
+import SpectraSystems.Nexus.services.BloomFilter;
+import SpectraSystems.Nexus.services.JwtService;
+import SpectraSystems.Nexus.services.TokenRevocationService;
+import SpectraSystems.Nexus.services.VerifiedTokenCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+    @Mock RevokedTokenRepository revokedTokenRepository;
+    @Mock JwtService jwtService;
+
+    @InjectMocks TokenRevocationService service;
+
+    @Test
+    void isRevoked_skipsTheTable_whenFilterSaysAbsent() {
+        when(revokedTokenRepository.findLiveDigests(any())).thenReturn(List.of(VerifiedTokenCache.digest("revoked")));
+        service.sync();
+
+        assertFalse(service.isRevoked("still-valid"));
+        verify(revokedTokenRepository, never()).existsById(VerifiedTokenCache.digest("still-valid"));
+    }
+
+    @Test
+    void isRevoked_confirmsPossibleHitAgainstTheTable() {
+        String digest = VerifiedTokenCache.digest("revoked");
+        when(revokedTokenRepository.findLiveDigests(any())).thenReturn(List.of(digest));
+        when(revokedTokenRepository.existsById(digest)).thenReturn(true);
+        service.sync();
+
+        assertTrue(service.isRevoked("revoked"));
+    }
+
+    @Test
+    void isRevoked_queriesTheTable_beforeFirstSync() {
+        when(revokedTokenRepository.existsById(anyString())).thenReturn(false);
+
+        assertFalse(service.isRevoked("any"));
+        verify(revokedTokenRepository).existsById(VerifiedTokenCache.digest("any"));
+    }
+
+    @Test
+    void sync_addsRowsFromOtherReplicas_incrementally() {
+        when(revokedTokenRepository.findLiveDigests(any())).thenReturn(List.of());
+        service.sync();
+        verify(revokedTokenRepository).deleteExpired(any());
+
+        String digest = VerifiedTokenCache.digest("revoked-elsewhere");
+        when(revokedTokenRepository.findDigestsRevokedSince(any(), any())).thenReturn(List.of(digest));
+        when(revokedTokenRepository.existsById(digest)).thenReturn(true);
+        service.sync();
+
+        assertTrue(service.isRevoked("revoked-elsewhere"));
+        // the second run is incremental, no rebuild
+        verify(revokedTokenRepository, times(1)).findLiveDigests(any());
+    }
+
+    @Test
+    void revoke_storesDigestUntilTokenExpiry() {
+        Date expiration = new Date(System.currentTimeMillis() + 60_000);
+        Claims claims = Jwts.claims().setSubject("a@b.com");
+        claims.setExpiration(expiration);
+        when(jwtService.verifyToken("tok")).thenReturn(claims);
+
+        service.revoke("tok");
+
+        ArgumentCaptor<RevokedToken> captor = ArgumentCaptor.forClass(RevokedToken.class);
+        verify(revokedTokenRepository).save(captor.capture());
+        assertEquals(VerifiedTokenCache.digest("tok"), captor.getValue().getTokenDigest());
+        // exp is stored in whole seconds
+        assertEquals(claims.getExpiration().toInstant(), captor.getValue().getExpiresAt());
+        assertFalse(captor.getValue().getRevokedAt().isAfter(Instant.now()));
+    }
+
+    @Test
+    void bloomFilter_hasNoFalseNegatives_andFewFalsePositives() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.put(VerifiedTokenCache.digest("in-" + i));
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(filter.mightContain(VerifiedTokenCache.digest("in-" + i)));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain(VerifiedTokenCache.digest("out-" + i))) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+}
@@ -0,0 +1,145 @@
+package SpectraSystems.Nexus.service;
+
+import SpectraSystems.Nexus.dto.SignUpRequest;
+import SpectraSystems.Nexus.dto.UserImportResult;
+import SpectraSystems.Nexus.models.Role;
+import SpectraSystems.Nexus.models.User;
+import SpectraSystems.Nexus.repositories.UserRepository;
+import SpectraSystems.Nexus.services.UserImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+class UserImportServiceTest {
+
+    @Autowired UserRepository userRepository;
+    @Autowired DataSource dataSource;
+    @Autowired EntityManagerFactory entityManagerFactory;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    UserImportService service;
+    List<List<UserImportResult>> chunks = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // batch size 2 so the rows below span several chunks
+        service = new UserImportService(userRepository, new JdbcTemplate(dataSource), entityManagerFactory,
+                transactionManager, new ObjectMapper(), 4, 2, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    private static SignUpRequest request(String email, String password) {
+        return SignUpRequest.builder()
+                .first_Name("Ana").last_Name("Lopez").email(email).password(password)
+                .age(30).country("GT").passport("P1").build();
+    }
+
+    private List<UserImportResult> flatten() {
+        return chunks.stream().flatMap(List::stream).toList();
+    }
+
+    @Test
+    void importUsers_inserts_new_rows_and_reports_duplicates_and_invalid() {
+        userRepository.save(User.builder().first_Name("Old").last_Name("User").email("old@nexus.com")
+                .password("x").role(Role.ROLE_USER).build());
+
+        service.importUsers(List.of(
+                request("new1@nexus.com", "secret1"),
+                request("old@nexus.com", "secret2"),
+                request("new1@nexus.com", "secret3"),
+                request("broken", "secret4"),
+                request("new2@nexus.com", "secret5")).iterator(), chunks::add);
+
+        List<UserImportResult> results = flatten();
+        assertEquals(3, chunks.size());
+        assertEquals(List.of(1, 2, 3, 4, 5), results.stream().map(UserImportResult::row).toList());
+        assertEquals(List.of(UserImportResult.Status.CREATED, UserImportResult.Status.DUPLICATE,
+                        UserImportResult.Status.DUPLICATE, UserImportResult.Status.INVALID,
+                        UserImportResult.Status.CREATED),
+                results.stream().map(UserImportResult::status).toList());
+
+        User created = userRepository.findByEmail("new1@nexus.com").orElseThrow();
+        assertEquals(Role.ROLE_USER, created.getRole());
+        assertEquals("Ana", created.getFirstName());
+        assertNotNull(created.getCreatedAt());
+        assertTrue(new BCryptPasswordEncoder().matches("secret1", created.getPassword()));
+        assertTrue(userRepository.findByEmail("new2@nexus.com").isPresent());
+    }
+
+    @Test
+    void importCsv_reads_header_and_quoted_fields() throws Exception {
+        String csv = """
+                email,password,first_Name,last_Name,age,country
+                csv1@nexus.com,"pa,ss",Ana,"O""Brien",41,GT
+
+                csv2@nexus.com,pw,Luis,Perez,,MX
+                """;
+
+        service.importCsv(new StringReader(csv), chunks::add);
+
+        List<UserImportResult> results = flatten();
+        assertEquals(2, results.size());
+        assertTrue(results.stream().allMatch(r -> r.status() == UserImportResult.Status.CREATED));
+        User user = userRepository.findByEmail("csv1@nexus.com").orElseThrow();
+        assertEquals("O\"Brien", user.getLastName());
+        assertEquals(41, user.getAge());
+        assertTrue(new BCryptPasswordEncoder().matches("pa,ss", user.getPassword()));
+    }
+
+    @Test
+    void importCsv_reports_row_with_bad_age_and_imports_the_rest() throws Exception {
+        String csv = """
+                email,password,first_Name,last_Name,age
+                age1@nexus.com,pw,Ana,Lopez,thirty
+                age2@nexus.com,pw,Luis,Perez,28
+                """;
+
+        service.importCsv(new StringReader(csv), chunks::add);
+
+        List<UserImportResult> results = flatten();
+        assertEquals(List.of(UserImportResult.Status.INVALID, UserImportResult.Status.CREATED),
+                results.stream().map(UserImportResult::status).toList());
+        assertEquals("age1@nexus.com", results.get(0).email());
+        assertTrue(userRepository.findByEmail("age1@nexus.com").isEmpty());
+        assertEquals(28, userRepository.findByEmail("age2@nexus.com").orElseThrow().getAge());
+    }
+
+    @Test
+    void importJson_accepts_array_and_stops_on_unreadable_input() throws Exception {
+        String json = "[{\"email\":\"j1@nexus.com\",\"password\":\"pw\",\"first_Name\":\"A\",\"last_Name\":\"B\"},"
+                + "{\"email\":";
+
+        service.importJson(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), chunks::add);
+
+        List<UserImportResult> results = flatten();
+        assertEquals(UserImportResult.Status.CREATED, results.get(0).status());
+        assertEquals(UserImportResult.Status.INVALID, results.get(results.size() - 1).status());
+        assertTrue(userRepository.findByEmail("j1@nexus.com").isPresent());
+    }
+}
@@ -1,5 +1,6 @@
 package SpectraSystems.Nexus.service;
 
+import SpectraSystems.Nexus.dto.UserSummary;
 import SpectraSystems.Nexus.exceptions.ResourceNotFoundException;
 import SpectraSystems.Nexus.models.Role;
 import SpectraSystems.Nexus.models.User;
@@ -11,6 +12,9 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -50,6 +54,30 @@ class UserServiceTest {
         assertTrue(service.getUserById(9L).isEmpty());
     }
 
+    @Test
+    void getUserSummaries_clamps_page_size_and_orders_by_id() {
+        UserSummary summary = new UserSummary(7L, "Ana", "Lopez", "a@b.com", Role.ROLE_USER);
+        when(userRepository.findSummaries(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(summary)));
+
+        Page<UserSummary> page = service.getUserSummaries(-1, 5000);
+
+        ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
+        verify(userRepository).findSummaries(captor.capture());
+        assertEquals(0, captor.getValue().getPageNumber());
+        assertEquals(UserService.MAX_PAGE_SIZE, captor.getValue().getPageSize());
+        assertNotNull(captor.getValue().getSort().getOrderFor("id"));
+        assertEquals(List.of(summary), page.getContent());
+        verify(userRepository, never()).findAll();
+    }
+
+    @Test
+    void getUserEmail_uses_projection() {
+        when(userRepository.findEmailById(7L)).thenReturn(Optional.of("a@b.com"));
+
+        assertEquals(Optional.of("a@b.com"), service.getUserEmail(7L));
+        verify(userRepository, never()).findById(anyLong());
+    }
+
     // ---------- create with hashing ----------
     @Test
     void createUser_hashes_password_and_saves() {
@@ -151,6 +179,18 @@ class UserServiceTest {
                 () -> uds.loadUserByUsername("nope"));
     }
 
+    @Test
+    void userDetailsPasswordService_stores_rehashed_password() {
+        User u = User.builder().id(1L).email("x@y.com").password("old-hash").role(Role.ROLE_USER).build();
+        when(userRepository.findByEmail("x@y.com")).thenReturn(Optional.of(u));
+        when(userRepository.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        UserDetails out = service.userDetailsPasswordService().updatePassword(u, "new-hash");
+
+        assertEquals("new-hash", out.getPassword());
+        verify(userRepository).save(u);
+    }
+
     // ---------- save(new/existing) timestamps ----------
     @Test
     void save_newUser_sets_createdAt_and_updatedAt() {
@@ -0,0 +1,63 @@
+package SpectraSystems.Nexus.testsupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import SpectraSystems.Nexus.config.InstrumentedDataSource;
+
+/**
+ * JDBC statements issued on the current thread by an action, read from the per-thread
+ * counter of InstrumentedDataSource. MockMvc serves requests on the test thread, so a
+ * perform(...) is counted whole, from the security filters to the JSON serialization.
+ * Full contexts get the counting DataSource from SqlMetricsConfig; slices such as
+ * @DataJpaTest import StatementCountingConfig.
+ */
+public final class StatementCounter {
+
+    private StatementCounter() {
+    }
+
+    /**
+     * @param action
+     * @return 'int' statements the action executed
+     * @throws Exception
+     */
+    public static int count(Action action) throws Exception {
+        InstrumentedDataSource.resetStatementCount();
+        action.run();
+        return InstrumentedDataSource.statementCount();
+    }
+
+    /**
+     * @param max
+     * @param action
+     * @return 'int' statements the action executed
+     * @throws Exception
+     */
+    public static int assertMaxStatements(int max, Action action) throws Exception {
+        int statements = count(action);
+        assertThat(statements).as("JDBC statements executed").isLessThanOrEqualTo(max);
+        return statements;
+    }
+
+    /**
+     * Fails when the statements grow with the rows faster than the expected cost per row,
+     * the signature of a query issued per row (N+1).
+     *
+     * @param perRow statements each additional row may add
+     * @param smallRows rows behind the first measurement
+     * @param small statements for smallRows rows
+     * @param largeRows rows behind the second measurement
+     * @param large statements for largeRows rows
+     */
+    public static void assertGrowthPerRow(int perRow, int smallRows, int small, int largeRows, int large) {
+        assertThat(large - small)
+                .as("JDBC statements added by %d more rows (%d for %d rows, %d for %d rows)",
+                        largeRows - smallRows, small, smallRows, large, largeRows)
+                .isLessThanOrEqualTo(perRow * (largeRows - smallRows));
+    }
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,30 @@
+package SpectraSystems.Nexus.testsupport;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import SpectraSystems.Nexus.config.InstrumentedDataSource;
+
+/**
+ * Counting DataSource for test slices that do not load SqlMetricsConfig; no timers,
+ * no slow-query log.
+ */
+@TestConfiguration
+public class StatementCountingConfig {
+
+    @Bean
+    static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof InstrumentedDataSource)) {
+                    return new InstrumentedDataSource(dataSource, () -> null, 0, 500);
+                }
+                return bean;
+            }
+        };
+    }
+}